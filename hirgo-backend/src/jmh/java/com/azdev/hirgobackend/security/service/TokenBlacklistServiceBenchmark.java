@@ -0,0 +1,83 @@
+package com.azdev.hirgobackend.security.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Per-request cost of {@link TokenBlacklistService#isBlacklisted(Jwt)} against a lookup keyed by the compact
+ * token string, as the blacklist was before it was keyed by jti. Run with {@code -prof gc} to compare the
+ * allocation of each check as well.
+ */
+@State(Scope.Benchmark)
+public class TokenBlacklistServiceBenchmark {
+
+    // A signed access token with the claims TokenService issues is a little over 800 characters
+    private static final int TOKEN_LENGTH = 820;
+
+    @Param({"10000", "100000"})
+    int blacklisted;
+
+    private TokenBlacklistService service;
+    private Map<String, Instant> byTokenValue;
+    private Jwt[] revoked;
+    private Jwt active;
+
+    @Setup
+    public void setUp() {
+        service = new TokenBlacklistService();
+        byTokenValue = new ConcurrentHashMap<>();
+        revoked = new Jwt[blacklisted];
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        for (int i = 0; i < blacklisted; i++) {
+            revoked[i] = jwt(expiresAt);
+            service.blacklistToken(revoked[i]);
+            byTokenValue.put(revoked[i].getTokenValue(), expiresAt);
+        }
+        active = jwt(expiresAt);
+    }
+
+    @Benchmark
+    public boolean checkActiveToken() {
+        return service.isBlacklisted(active);
+    }
+
+    @Benchmark
+    public boolean checkRevokedToken() {
+        return service.isBlacklisted(revoked[ThreadLocalRandom.current().nextInt(blacklisted)]);
+    }
+
+    @Benchmark
+    public boolean checkActiveTokenByValue() {
+        // A fresh String per request, as the decoder hands over, so its hash is not cached
+        return byTokenValue.containsKey(new String(active.getTokenValue()));
+    }
+
+    @Benchmark
+    public boolean checkRevokedTokenByValue() {
+        return byTokenValue.containsKey(new String(revoked[ThreadLocalRandom.current().nextInt(blacklisted)].getTokenValue()));
+    }
+
+    private static Jwt jwt(Instant expiresAt) {
+        StringBuilder value = new StringBuilder(TOKEN_LENGTH);
+        while (value.length() < TOKEN_LENGTH) {
+            value.append(UUID.randomUUID());
+        }
+        return Jwt.withTokenValue(value.substring(0, TOKEN_LENGTH))
+                .header("alg", "RS256")
+                .subject("user-" + ThreadLocalRandom.current().nextInt(1000))
+                .id(UUID.randomUUID().toString())
+                .issuedAt(expiresAt.minusSeconds(7200))
+                .expiresAt(expiresAt)
+                .claim("token_type", "access")
+                .build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.VacancySearchProperties;
+import com.azdev.hirgobackend.enums.VacancyFacet;
+import com.azdev.hirgobackend.models.vacancy.Vacancy;
+import com.azdev.hirgobackend.repositories.JobSeekerVacancyRepository;
+import com.azdev.hirgobackend.repositories.JobSeekerVacancyRepository.SearchIndexLanguageSkillRow;
+import com.azdev.hirgobackend.repositories.JobSeekerVacancyRepository.SearchIndexRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Filter, facet and cursor lookups on {@link VacancySearchIndex}, and the cost of patching one vacancy in.
+ * Vacancies are spread evenly over a year and over a handful of values per facet, roughly the shape of the
+ * public board; {@code searchSelective} narrows to a few hundred of them, {@code searchBroad} to most.
+ */
+@State(Scope.Benchmark)
+public class VacancySearchIndexBenchmark {
+
+    private static final LocalDateTime FIRST_POSTED = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Param({"10000", "100000"})
+    int vacancies;
+
+    private VacancySearchIndex index;
+    private VacancySearchIndex.Query selective;
+    private VacancySearchIndex.Query broad;
+    private LocalDateTime cursorPostedAt;
+    private String cursorId;
+    private Vacancy written;
+    private long writes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Row> rows = new ArrayList<>(vacancies);
+        List<LanguageSkillRow> languageSkills = new ArrayList<>();
+        for (int i = 0; i < vacancies; i++) {
+            Row row = new Row(UUID.randomUUID().toString(),
+                    Timestamp.valueOf(FIRST_POSTED.plusSeconds(random.nextInt(365 * 24 * 3600))),
+                    500L + random.nextInt(5000),
+                    (long) random.nextInt(20), (long) random.nextInt(3), (long) random.nextInt(4),
+                    (long) random.nextInt(3), (long) random.nextInt(5), (long) random.nextInt(4));
+            rows.add(row);
+            languageSkills.add(new LanguageSkillRow(row.getId(), (long) random.nextInt(6)));
+        }
+        JobSeekerVacancyRepository repository = (JobSeekerVacancyRepository) Proxy.newProxyInstance(
+                JobSeekerVacancyRepository.class.getClassLoader(),
+                new Class<?>[] {JobSeekerVacancyRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllForSearchIndex" -> rows;
+                    case "findAllLanguageSkillsForSearchIndex" -> languageSkills;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        index = new VacancySearchIndex(repository, new VacancySearchProperties(), new SimpleMeterRegistry());
+        index.rebuild();
+
+        Map<VacancyFacet, Long> selectiveTerms = new EnumMap<>(VacancyFacet.class);
+        selectiveTerms.put(VacancyFacet.CATEGORY, 3L);
+        selectiveTerms.put(VacancyFacet.LOCATION_TYPE, 1L);
+        selectiveTerms.put(VacancyFacet.EXPERIENCE_LEVEL, 2L);
+        selective = new VacancySearchIndex.Query(selectiveTerms, 1000L, 3000L, null);
+        broad = new VacancySearchIndex.Query(Map.of(), 1000L, null, FIRST_POSTED.plusDays(30));
+
+        // Half way down the listing, where an OFFSET page would have to skip every row before it
+        List<String> page = index.search(broad, vacancies / 2, 1).orElseThrow().ids();
+        Row cursor = rows.stream().filter(row -> row.getId().equals(page.get(0))).findFirst().orElseThrow();
+        cursorPostedAt = cursor.getPostedAt().toLocalDateTime();
+        cursorId = cursor.getId();
+
+        Row first = rows.get(0);
+        written = new Vacancy();
+        written.setId(first.getId());
+        written.setCompanyId(1L);
+        written.setSalary(first.getSalary());
+        written.setCategoryId(first.getCategoryId());
+        written.setLocationTypeId(first.getLocationTypeId());
+        written.setEmploymentTypeId(first.getEmploymentTypeId());
+        written.setWorkScheduleId(first.getWorkScheduleId());
+        written.setExperienceLevelId(first.getExperienceLevelId());
+        written.setEducationLevelId(first.getEducationLevelId());
+        written.setLanguageSkillsIds(List.of(1L));
+    }
+
+    @Benchmark
+    public VacancySearchIndex.Result searchSelective() {
+        return index.search(selective, 0, 20).orElseThrow();
+    }
+
+    @Benchmark
+    public VacancySearchIndex.Result searchBroad() {
+        return index.search(broad, 0, 20).orElseThrow();
+    }
+
+    @Benchmark
+    public List<String> searchBroadAfterCursor() {
+        return index.searchAfter(broad, cursorPostedAt, cursorId, 20).orElseThrow();
+    }
+
+    @Benchmark
+    public Map<VacancyFacet, Map<Long, Long>> facetCounts() {
+        return index.facetCounts(selective).orElseThrow();
+    }
+
+    /**
+     * An edit that moves one vacancy to another posting date and salary, then a search that reads the
+     * orders it changed
+     */
+    @Benchmark
+    public VacancySearchIndex.Result writeThenSearch() {
+        writes++;
+        written.setPostedAt(FIRST_POSTED.plusMinutes(writes % (365 * 24 * 60)));
+        written.setSalary(500L + writes % 5000);
+        index.index(written);
+        return index.search(broad, 0, 20).orElseThrow();
+    }
+
+    private record Row(String id, Timestamp postedAt, Long salary, Long categoryId, Long locationTypeId,
+                       Long employmentTypeId, Long workScheduleId, Long experienceLevelId, Long educationLevelId)
+            implements SearchIndexRow {
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public Timestamp getPostedAt() {
+            return postedAt;
+        }
+
+        @Override
+        public Long getSalary() {
+            return salary;
+        }
+
+        @Override
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public Long getLocationTypeId() {
+            return locationTypeId;
+        }
+
+        @Override
+        public Long getEmploymentTypeId() {
+            return employmentTypeId;
+        }
+
+        @Override
+        public Long getWorkScheduleId() {
+            return workScheduleId;
+        }
+
+        @Override
+        public Long getExperienceLevelId() {
+            return experienceLevelId;
+        }
+
+        @Override
+        public Long getEducationLevelId() {
+            return educationLevelId;
+        }
+    }
+
+    private record LanguageSkillRow(String vacancyId, Long languageSkillId) implements SearchIndexLanguageSkillRow {
+
+        @Override
+        public String getVacancyId() {
+            return vacancyId;
+        }
+
+        @Override
+        public Long getLanguageSkillId() {
+            return languageSkillId;
+        }
+    }
+}
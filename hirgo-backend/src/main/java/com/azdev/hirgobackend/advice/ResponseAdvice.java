@@ -1,6 +1,8 @@
 package com.azdev.hirgobackend.advice;
 
 import com.azdev.hirgobackend.dtos.common.response.CommonResponse;
+import com.azdev.hirgobackend.dtos.common.response.CursorPage;
+import com.azdev.hirgobackend.dtos.common.response.FacetedPage;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.core.MethodParameter;
 import org.springframework.data.domain.Page;
@@ -40,7 +42,7 @@ public class ResponseAdvice implements ResponseBodyAdvice<Object> {
             return body;
         }
 
-        if (body instanceof CommonResponse) {
+        if (body instanceof CommonResponse || body instanceof byte[]) {
             return body;
         }
 
@@ -52,16 +54,28 @@ public class ResponseAdvice implements ResponseBodyAdvice<Object> {
             }
         }
 
+        if (body instanceof FacetedPage<?> page) {
+            return CommonResponse.success(page.getContent(), page);
+        }
+
         if (body instanceof Page<?> page) {
             return CommonResponse.success(page.getContent(), page);
         }
 
+        if (body instanceof CursorPage<?> page) {
+            return CommonResponse.success(page.content(), page);
+        }
+
         if (body instanceof ResponseEntity<?> entity) {
             Object entityBody = entity.getBody();
             if (entityBody instanceof Page<?> page) {
                 return ResponseEntity.status(entity.getStatusCode())
                         .body(CommonResponse.success(page.getContent(), page));
             }
+            if (entityBody instanceof CursorPage<?> page) {
+                return ResponseEntity.status(entity.getStatusCode())
+                        .body(CommonResponse.success(page.content(), page));
+            }
             return ResponseEntity.status(entity.getStatusCode())
                     .body(CommonResponse.success(entityBody));
         }
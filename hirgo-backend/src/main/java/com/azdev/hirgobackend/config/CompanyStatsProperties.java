@@ -0,0 +1,23 @@
+package com.azdev.hirgobackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Maintenance of the company_stats dashboard rollup
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "company.stats")
+public class CompanyStatsProperties {
+    // How often vacancies past their application deadline stop counting as active
+    private long expiryIntervalMs = 60000;
+    // How often unique viewer estimates of recently viewed companies are refreshed, and how many per run
+    private long uniqueViewersIntervalMs = 300000;
+    private int uniqueViewersBatchSize = 100;
+    // Unique viewers are counted over this many trailing days
+    private int uniqueViewersDays = 30;
+    // Nightly recount of every company's vacancies, and removal of daily view rows older than a week
+    private String reconcileCron = "0 0 4 * * *";
+}
@@ -0,0 +1,21 @@
+package com.azdev.hirgobackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Live dashboard metrics pushed to connected companies over server-sent events
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "dashboard.stream")
+public class DashboardStreamProperties {
+    // Changes are coalesced per company and pushed at most once per interval
+    private long pushIntervalMs = 2000;
+    // A comment is sent to idle connections this often, so proxies keep them open and dead ones are noticed
+    private long heartbeatIntervalMs = 15000;
+    // Connections are closed after this long and the client reconnects, picking up a fresh token
+    private long timeoutMs = 1800000;
+    private int maxConnectionsPerCompany = 10;
+}
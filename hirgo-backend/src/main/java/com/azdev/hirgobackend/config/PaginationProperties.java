@@ -0,0 +1,25 @@
+package com.azdev.hirgobackend.config;
+
+import com.azdev.hirgobackend.enums.CountStrategy;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Total counts of paged endpoints
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pagination")
+public class PaginationProperties {
+    // Capped counts stop after this many matches
+    private long countCap = 1000;
+    // Count strategy per endpoint key; endpoints not listed count exactly
+    private Map<String, CountStrategy> count = new HashMap<>();
+
+    public CountStrategy strategy(String endpoint) {
+        return count.getOrDefault(endpoint, CountStrategy.EXACT);
+    }
+}
@@ -0,0 +1,25 @@
+package com.azdev.hirgobackend.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Assets served to the PDF renderer from memory instead of the network
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pdf.assets")
+public class PdfAssetProperties {
+    private boolean enabled = true;
+    // Asset URL to a bundled resource that answers it, e.g. a font file under classpath:pdf-assets/
+    private Map<String, String> bundled = new LinkedHashMap<>();
+    // Abort every request that no bundled or previously fetched asset answers, so rendering never leaves the host
+    private boolean blockUnknown = false;
+    // Fetched stylesheets, fonts, images and scripts are kept this long
+    private long fetchedTtlMs = 86400000;
+    // Total size of fetched assets kept in memory; the least recently used are dropped beyond it
+    private long maxBytes = 32L * 1024 * 1024;
+}
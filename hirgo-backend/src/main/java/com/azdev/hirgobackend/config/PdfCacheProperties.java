@@ -0,0 +1,23 @@
+package com.azdev.hirgobackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits of the rendered PDF cache
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pdf.cache")
+public class PdfCacheProperties {
+    private boolean enabled = true;
+    // Total size of PDFs kept in memory; least recently used entries are evicted first
+    private long memoryMaxBytes = 64L * 1024 * 1024;
+    // Larger PDFs skip the memory tier
+    private long maxEntryBytes = 5L * 1024 * 1024;
+    // Optional second tier of files on disk that survives restarts
+    private boolean diskEnabled = false;
+    private String diskPath = System.getProperty("java.io.tmpdir") + "/hirgo/pdf-cache";
+    private long diskMaxBytes = 512L * 1024 * 1024;
+}
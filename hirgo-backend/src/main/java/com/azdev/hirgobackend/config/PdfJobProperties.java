@@ -0,0 +1,19 @@
+package com.azdev.hirgobackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Asynchronous PDF jobs and the temp files holding their output
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pdf.jobs")
+public class PdfJobProperties {
+    private String tempDir = System.getProperty("java.io.tmpdir") + "/hirgo/pdf-jobs";
+    // Finished jobs and their files are dropped this long after completion
+    private long ttlMs = 600000;
+    // Jobs a single user may have unfinished at once
+    private int maxActivePerUser = 3;
+}
@@ -0,0 +1,37 @@
+package com.azdev.hirgobackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing and lifecycle of the Playwright render pool behind PDF generation
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "pdf.render")
+public class PdfRenderProperties {
+    // Upper bound on render workers, each with its own Playwright, browser and page
+    private int maxWorkers = 2;
+    // Workers started together on the first render and kept running while idle; 0 lets the pool drain completely
+    private int warmWorkers = 1;
+    // Launch the warm workers at startup instead of on the first render
+    private boolean startOnBoot = false;
+    // Workers above warmWorkers shut their browser down after this long without a render
+    private long idleTimeoutMs = 300000;
+    // Render a blank page right after launch so the first real render does not pay for renderer start-up
+    private boolean warmUpOnLaunch = true;
+    // Renders allowed to wait for a worker before new ones are rejected
+    private int queueCapacity = 16;
+    // Upper bound for each browser operation of a render and for a caller waiting on one; a worker that hits it
+    // recycles its browser
+    private long renderTimeoutMs = 30000;
+    // Sent as Retry-After when the queue is full
+    private int retryAfterSeconds = 5;
+    // Browsers are relaunched after this many renders to cap memory growth, 0 disables
+    private int recycleAfterRenders = 500;
+    // Renders a single batch export keeps in flight, so one export cannot take over the queue
+    private int batchParallelism = 2;
+    // Resumes accepted in one batch export
+    private int batchMaxItems = 100;
+}
@@ -1,42 +1,22 @@
 package com.azdev.hirgobackend.config; // veya uygun bir paket
 
-import com.microsoft.playwright.Browser;
-import com.microsoft.playwright.BrowserType;
-import com.microsoft.playwright.Playwright;
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
+import com.azdev.hirgobackend.services.concretes.PdfAssetStore;
+import com.azdev.hirgobackend.services.concretes.PdfRenderEngine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties({PdfRenderProperties.class, PdfCacheProperties.class, PdfJobProperties.class,
+        PdfAssetProperties.class})
 public class PlaywrightConfig {
 
-    private Playwright playwright;
-    private Browser browser;
-
-    @PostConstruct
-    void launchBrowser() {
-        // Uygulama başlarken Playwright'i ve tarayıcıyı başlat
-        this.playwright = Playwright.create();
-        this.browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-                .setHeadless(true)
-                .setArgs(java.util.Arrays.asList("--no-sandbox", "--disable-setuid-sandbox")));
-    }
-
-    @PreDestroy
-    void closeBrowser() {
-        // Uygulama kapanırken kaynakları serbest bırak
-        if (browser != null) {
-            browser.close();
-        }
-        if (playwright != null) {
-            playwright.close();
-        }
-    }
-
-    @Bean
-    public Browser browser() {
-        // Başlatılmış tarayıcı örneğini diğer bean'lerin kullanabilmesi için sağla
-        return this.browser;
+    @Bean(destroyMethod = "shutdown")
+    public PdfRenderEngine pdfRenderEngine(PdfRenderProperties properties, MeterRegistry meterRegistry,
+                                           PdfAssetStore assetStore) {
+        // Tarayıcılar ilk render isteğinde başlatılır; her worker kendi Playwright örneğini kullanır ve kapanışta hepsi kapatılır
+        // Her tarayıcı bağlamının istekleri bellek içi varlık deposundan karşılanır
+        return new PdfRenderEngine(properties, meterRegistry, assetStore::install);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.azdev.hirgobackend.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the configuration properties of features that have no configuration class of their own
+ */
+@Configuration
+@EnableConfigurationProperties({VacancyViewProperties.class, VacancySearchProperties.class, PaginationProperties.class,
+        CompanyStatsProperties.class, DashboardStreamProperties.class, ReferenceDataProperties.class})
+public class PropertiesConfiguration {
+}
@@ -0,0 +1,18 @@
+package com.azdev.hirgobackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * In-memory snapshot of the lookups and categories
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reference-data")
+public class ReferenceDataProperties {
+    // How often the version row is checked; a change there reloads the snapshot
+    private long versionPollIntervalMs = 30000;
+    // Most ids plus types one batch lookup call may ask for
+    private int batchMaxItems = 500;
+}
@@ -0,0 +1,32 @@
+package com.azdev.hirgobackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Job-seeker vacancy filtering and keyword search
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "vacancy.search")
+public class VacancySearchProperties {
+    // In-memory filter index; when off, or until the first build completes, filtering runs in Postgres
+    private boolean enabled = true;
+    // Full rebuilds pick up vacancies written by other nodes
+    private long rebuildIntervalMs = 300000;
+    // Full-text documents are backfilled for vacancies that have none, this many per query
+    private int textBackfillBatchSize = 500;
+    private long textBackfillIntervalMs = 600000;
+    // Autocomplete keeps this many suggestions per prefix; also the largest limit a request can ask for
+    private int autocompleteMaxResults = 10;
+    // Local vacancy writes reach the suggestions within one refresh interval
+    private long autocompleteRefreshIntervalMs = 1000;
+    // Full reloads pick up view counts and writes from other nodes
+    private long autocompleteReloadIntervalMs = 600000;
+    // Listing rows are backfilled for vacancies that have none, this many per statement; also the resync batch
+    private int listingBackfillBatchSize = 500;
+    private long listingBackfillIntervalMs = 60000;
+    // Full resync of the listing rows, which picks up category and lookup renames made outside the application
+    private String listingResyncCron = "0 45 3 * * *";
+}
@@ -0,0 +1,56 @@
+package com.azdev.hirgobackend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning for vacancy view counting
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "vacancy.views")
+public class VacancyViewProperties {
+
+    private Buffer buffer = new Buffer();
+    private Dedup dedup = new Dedup();
+    private Sketch sketch = new Sketch();
+
+    @Getter
+    @Setter
+    public static class Buffer {
+        // How often pending view deltas are written to vacancy_views
+        private long flushIntervalMs = 5000;
+        // Distinct vacancies, or unique views, held in memory before an early flush is requested
+        private int maxPendingVacancies = 10000;
+        // Unique views held in memory at most; further ones are dropped while the database is unreachable
+        private int maxPendingUniqueViews = 100000;
+    }
+
+    @Getter
+    @Setter
+    public static class Dedup {
+        // When off every view goes straight to the vacancy_view_logs lookup
+        private boolean enabled = true;
+        // Distinct IP+vacancy pairs per day the filter is sized for
+        private long expectedDailyViews = 1_000_000;
+        // Share of genuinely new views that may be dropped as repeats
+        private double falsePositiveRate = 0.001;
+        // Hard cap on the filter's bit array
+        private long maxMemoryBytes = 8L * 1024 * 1024;
+        // Where the current day's filter is persisted between restarts
+        private String snapshotPath = System.getProperty("java.io.tmpdir") + "/hirgo/vacancy-view-dedup.bin";
+        private long snapshotIntervalMs = 60000;
+    }
+
+    @Getter
+    @Setter
+    public static class Sketch {
+        // How often in-memory unique-viewer sketches are merged into vacancy_view_sketches
+        private long flushIntervalMs = 60000;
+        // Hourly buckets older than this are dropped; older ranges are answered from daily buckets
+        private int hourlyRetentionDays = 14;
+        private int dailyRetentionDays = 400;
+        private String cleanupCron = "0 30 3 * * *";
+    }
+}
@@ -3,6 +3,7 @@ package com.azdev.hirgobackend.controllers;
 import com.azdev.hirgobackend.dtos.category.response.CategoryResponse;
 import com.azdev.hirgobackend.dtos.category.response.CategoryListResponse;
 import com.azdev.hirgobackend.services.abstracts.CategoryService;
+import com.azdev.hirgobackend.services.concretes.ReferenceDataCache;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -16,18 +17,17 @@ import org.springframework.web.bind.annotation.*;
 public class CategoryController {
     
     CategoryService categoryService;
+    ReferenceDataCache referenceDataCache;
 
 
     @GetMapping("/{id}")
     public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
-        CategoryResponse response = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(response);
+        return referenceDataCache.snapshot().revalidated(() -> categoryService.getCategoryById(id));
     }
 
     @GetMapping
     public ResponseEntity<CategoryListResponse> getAllCategories() {
-        CategoryListResponse response = categoryService.getAllCategories();
-        return ResponseEntity.ok(response);
+        return referenceDataCache.snapshot().revalidated(categoryService::getAllCategories);
     }
 
 } 
\ No newline at end of file
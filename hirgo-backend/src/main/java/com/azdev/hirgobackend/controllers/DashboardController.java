@@ -3,12 +3,14 @@ package com.azdev.hirgobackend.controllers;
 import com.azdev.hirgobackend.dtos.dashboard.DashboardDtos.DashboardResponse;
 import com.azdev.hirgobackend.services.abstracts.DashboardService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/dashboard")
@@ -23,6 +25,15 @@ public class DashboardController {
     public ResponseEntity<DashboardResponse> getCompanyDashboard() {
         return ResponseEntity.ok(dashboardService.getCompanyDashboard());
     }
+
+    /**
+     * Live updates of the company dashboard metrics: a {@code snapshot} event, then {@code delta} events
+     */
+    @GetMapping(value = "/company/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('COMPANY')")
+    public SseEmitter streamCompanyDashboard() {
+        return dashboardService.streamCompanyDashboard();
+    }
 }
 
 
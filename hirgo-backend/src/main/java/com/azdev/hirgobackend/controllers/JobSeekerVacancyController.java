@@ -1,9 +1,14 @@
 package com.azdev.hirgobackend.controllers;
 
+import com.azdev.hirgobackend.dtos.common.response.CursorPage;
+import com.azdev.hirgobackend.dtos.common.response.FacetedPage;
 import com.azdev.hirgobackend.dtos.vacancy.request.JobSeekerVacancyFilterRequest;
+import com.azdev.hirgobackend.dtos.vacancy.request.VacancySearchRequest;
+import com.azdev.hirgobackend.dtos.vacancy.response.jobseeker.AutocompleteSuggestionResponse;
 import com.azdev.hirgobackend.dtos.vacancy.response.jobseeker.JobSeekerVacancyDetailsResponse;
 import com.azdev.hirgobackend.dtos.vacancy.response.jobseeker.JobSeekerVacancyTableResponse;
 import com.azdev.hirgobackend.services.abstracts.JobSeekerVacancyService;
+import jakarta.validation.Valid;
 import java.util.List;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +21,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -27,6 +33,16 @@ public class JobSeekerVacancyController {
 
     JobSeekerVacancyService jobSeekerVacancyService;
 
+    /**
+     * Suggestions for the search box from vacancy titles, required skills and company names, most popular first.
+     * Any word of a suggestion can start the prefix.
+     */
+    @GetMapping("/autocomplete")
+    public List<AutocompleteSuggestionResponse> autocomplete(@RequestParam("q") String prefix,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        return jobSeekerVacancyService.autocomplete(prefix, limit);
+    }
+
     @GetMapping("/{id}")
     public JobSeekerVacancyDetailsResponse getVacancyById(@PathVariable String id) {
         return jobSeekerVacancyService.getVacancyByIdForDetails(id);
@@ -42,4 +58,39 @@ public class JobSeekerVacancyController {
         return jobSeekerVacancyService.getAllVacanciesByFilter(filterRequest, pageable);
     }
 
+    /**
+     * Same as the filter endpoint, plus the number of matches per value of every filter dimension.
+     * Each dimension's counts ignore its own selection, so they show what picking another value would return.
+     */
+    @PostMapping(value = "/filter", params = {"facets=true", "!cursor"})
+    public FacetedPage<JobSeekerVacancyTableResponse> getAllVacanciesByFilterWithFacets(@RequestBody JobSeekerVacancyFilterRequest filterRequest,
+                                                                                         Pageable pageable) {
+        return jobSeekerVacancyService.getAllVacanciesByFilterWithFacets(filterRequest, pageable);
+    }
+
+    /**
+     * Keyset mode, selected by the presence of the {@code cursor} parameter.
+     * Send an empty {@code cursor} for the first page and the returned {@code nextCursor} afterwards.
+     */
+    @GetMapping(params = "cursor")
+    public CursorPage<JobSeekerVacancyTableResponse> getAllVacanciesByCursor(@RequestParam String cursor, Pageable pageable) {
+        return jobSeekerVacancyService.getAllVacanciesForTable(cursor, pageable.getPageSize());
+    }
+
+    @PostMapping(value = "/filter", params = "cursor")
+    public CursorPage<JobSeekerVacancyTableResponse> getAllVacanciesByFilterAndCursor(@RequestBody JobSeekerVacancyFilterRequest filterRequest,
+                                                                                      @RequestParam String cursor,
+                                                                                      Pageable pageable) {
+        return jobSeekerVacancyService.getAllVacanciesByFilter(filterRequest, cursor, pageable.getPageSize());
+    }
+
+    /**
+     * Keyword search over title, company name, skills and responsibilities, most relevant first.
+     * Words match by prefix and regardless of case and Azerbaijani diacritics.
+     */
+    @PostMapping("/search")
+    public Page<JobSeekerVacancyTableResponse> searchVacancies(@Valid @RequestBody VacancySearchRequest searchRequest, Pageable pageable) {
+        return jobSeekerVacancyService.searchVacancies(searchRequest, pageable);
+    }
+
 }
\ No newline at end of file
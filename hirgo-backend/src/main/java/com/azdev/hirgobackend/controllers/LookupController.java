@@ -1,7 +1,9 @@
 package com.azdev.hirgobackend.controllers;
 
+import com.azdev.hirgobackend.dtos.lookup.LookupBatchResponse;
 import com.azdev.hirgobackend.dtos.lookup.LookupResponse;
 import com.azdev.hirgobackend.services.abstracts.LookupService;
+import com.azdev.hirgobackend.services.concretes.ReferenceDataCache;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -26,6 +28,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 public class LookupController {
 
     LookupService lookupService;
+    ReferenceDataCache referenceDataCache;
 
     @Operation(
         summary = "Retrieve a lookup by ID",
@@ -37,7 +40,7 @@ public class LookupController {
             @RequestParam Long id,
             @Parameter(description = "Optional filter for lookup type (EducationLevel, EmploymentType, ExperienceLevel, LanguageSkills, Location, WorkSchedule)")
             @RequestParam(required = false) String type) {
-        return ResponseEntity.ok(lookupService.lookup(id, type));
+        return referenceDataCache.snapshot().revalidated(() -> lookupService.lookup(id, type));
     }
 
     @Operation(
@@ -48,6 +51,19 @@ public class LookupController {
     public ResponseEntity<List<LookupResponse>> getLookups(
             @Parameter(description = "Type of lookup values to retrieve (EducationLevel, EmploymentType, ExperienceLevel, LanguageSkills, Location, WorkSchedule)", required = true)
             @RequestParam String type) {
-        return ResponseEntity.ok(lookupService.lookupAllByType(type));
+        return referenceDataCache.snapshot().revalidated(() -> lookupService.lookupAllByType(type));
+    }
+
+    @Operation(
+        summary = "Resolve many lookups in one call",
+        description = "Fetches the lookups with the given IDs and all lookups of the given types, e.g. every lookup ID on a page of vacancy cards. Unknown IDs are left out of the response."
+    )
+    @GetMapping("/batch")
+    public ResponseEntity<LookupBatchResponse> getLookupBatch(
+            @Parameter(description = "Comma separated IDs of the lookup values to retrieve")
+            @RequestParam(required = false) List<Long> ids,
+            @Parameter(description = "Comma separated lookup types whose values to retrieve in full (EducationLevel, EmploymentType, ExperienceLevel, LanguageSkills, Location, WorkSchedule)")
+            @RequestParam(required = false) List<String> types) {
+        return referenceDataCache.snapshot().revalidated(() -> lookupService.lookupBatch(ids, types));
     }
 }
\ No newline at end of file
@@ -1,32 +1,66 @@
 package com.azdev.hirgobackend.controllers;
 
+import com.azdev.hirgobackend.dtos.common.response.CommonResponse;
 import com.azdev.hirgobackend.dtos.resume.PdfGenerateRequest;
+import com.azdev.hirgobackend.dtos.resume.PdfJobResponse;
+import com.azdev.hirgobackend.exceptions.domain.pdf.PdfJobNotFoundException;
 import com.azdev.hirgobackend.services.concretes.PdfGenerationService;
+import com.azdev.hirgobackend.services.concretes.PdfJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
 
 @RestController
 @RequestMapping("/api/v1/generate-pdf")
 @RequiredArgsConstructor
 public class PdfController {
 
+    // Tomcat sendfile request attributes
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final PdfGenerationService pdfGenerationService;
+    private final PdfJobService pdfJobService;
 
     @PostMapping
-    public ResponseEntity<byte[]> generatePdf(@Valid @RequestBody PdfGenerateRequest request) {
+    public ResponseEntity<byte[]> generatePdf(@Valid @RequestBody PdfGenerateRequest request,
+                                              WebRequest webRequest) {
+        // Aynı HTML her zaman aynı PDF'i üretir; bu yüzden içerik özeti güçlü bir ETag olarak kullanılabilir
+        String cacheKey = pdfGenerationService.cacheKey(request.getHtml());
+        String etag = "\"" + cacheKey + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            // Spring has already answered with the ETag; as this is a POST, RFC 9110 makes that 412 rather than 304
+            return null;
+        }
+
         try {
             // 1. Servisi kullanarak HTML'den PDF byte dizisi oluştur
-            byte[] pdfBytes = pdfGenerationService.generatePdfFromHtml(request.getHtml());
+            byte[] pdfBytes = pdfGenerationService.generatePdfFromHtml(request.getHtml(), cacheKey);
 
             // 2. HTTP başlıklarını (headers) ayarla
             HttpHeaders headers = new HttpHeaders();
@@ -34,6 +68,8 @@ public class PdfController {
             // Bu başlık, tarayıcının dosyayı doğrudan göstermek yerine indirmesini sağlar
             headers.setContentDispositionFormData("attachment", "resume.pdf");
             headers.setContentLength(pdfBytes.length);
+            headers.setETag(etag);
+            headers.setCacheControl(CacheControl.noCache().cachePrivate());
 
             // 3. PDF byte dizisini ve başlıkları içeren bir ResponseEntity döndür
             return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
@@ -44,4 +80,50 @@ public class PdfController {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
\ No newline at end of file
+
+    // ResponseAdvice bu yolu sarmadığı için JSON cevaplar burada CommonResponse ile sarılır
+    @PostMapping("/jobs")
+    public ResponseEntity<CommonResponse<PdfJobResponse>> submitJob(@Valid @RequestBody PdfGenerateRequest request,
+                                                                    @AuthenticationPrincipal Jwt jwt) {
+        PdfJobResponse job = pdfJobService.submit(jwt.getSubject(), request.getHtml());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(CommonResponse.success(job));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<CommonResponse<PdfJobResponse>> getJob(@PathVariable String jobId,
+                                                                 @AuthenticationPrincipal Jwt jwt) {
+        return ResponseEntity.ok(CommonResponse.success(pdfJobService.getStatus(jwt.getSubject(), jobId)));
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    public void downloadJob(@PathVariable String jobId,
+                            @AuthenticationPrincipal Jwt jwt,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        PdfJobService.Download download = pdfJobService.getDownload(jwt.getSubject(), jobId);
+
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("resume.pdf").build().toString());
+        response.setContentLengthLong(download.sizeBytes());
+
+        // Tomcat dosyayı sendfile ile doğrudan sokete yazabiliyorsa JVM'e hiç kopyalanmaz
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, download.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, download.sizeBytes());
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(download.file(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < download.sizeBytes()) {
+                position += channel.transferTo(position, download.sizeBytes() - position, out);
+            }
+        } catch (NoSuchFileException e) {
+            // Dosya süresi dolup silinmiş
+            throw new PdfJobNotFoundException(jobId);
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package com.azdev.hirgobackend.controllers;
 
 import com.azdev.hirgobackend.dtos.resume.ResumeCreateRequest;
+import com.azdev.hirgobackend.dtos.resume.ResumeExportRequest;
 import com.azdev.hirgobackend.dtos.resume.ResumeResponse;
 import com.azdev.hirgobackend.dtos.resume.ResumeUpdateRequest;
+import com.azdev.hirgobackend.services.concretes.PdfGenerationService;
+import com.azdev.hirgobackend.services.concretes.ResumeExportService;
 import com.azdev.hirgobackend.services.concretes.ResumeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,6 +31,8 @@ import java.util.UUID;
 public class ResumeController {
 
     private final ResumeService resumeService;
+    private final PdfGenerationService pdfGenerationService;
+    private final ResumeExportService resumeExportService;
 
     @PostMapping
     public ResponseEntity<ResumeResponse> createResume(
@@ -50,6 +62,46 @@ public class ResumeController {
         return ResponseEntity.ok(resume);
     }
 
+    @GetMapping("/{id}/pdf")
+    public ResponseEntity<byte[]> getResumePdf(
+            @PathVariable Long id,
+            WebRequest webRequest,
+            @AuthenticationPrincipal Jwt jwt) throws IOException {
+
+        UUID userId = UUID.fromString(jwt.getSubject());
+        String html = resumeService.buildResumeHtml(id, userId);
+
+        // The HTML is assembled server-side, so its digest identifies the PDF before anything is rendered
+        String etag = "\"" + pdfGenerationService.cacheKey(html) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            // Spring has already answered 304 with the ETag, matching weak tags, lists and "*"
+            return null;
+        }
+
+        byte[] pdfBytes = pdfGenerationService.generatePdfFromHtml(html);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("resume-" + id + ".pdf").build().toString())
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(pdfBytes);
+    }
+
+    @PostMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportResumes(
+            @Valid @RequestBody ResumeExportRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        UUID userId = UUID.fromString(jwt.getSubject());
+        StreamingResponseBody archive = resumeExportService.export(request.getResumeIds(), userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("resumes.zip").build().toString())
+                .body(archive);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ResumeResponse> updateResume(
             @PathVariable Long id,
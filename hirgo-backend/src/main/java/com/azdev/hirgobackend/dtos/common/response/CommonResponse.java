@@ -2,6 +2,7 @@ package com.azdev.hirgobackend.dtos.common.response;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,6 +20,7 @@ public class CommonResponse<T> {
 
     T data;
     Pagination pagination;
+    Map<String, Map<Long, Long>> facets;
     Status status;
 
     public static <T> CommonResponse<T> success(T data, Page<?> page) {
@@ -29,6 +31,23 @@ public class CommonResponse<T> {
                 .build();
     }
 
+    public static <T> CommonResponse<T> success(T data, FacetedPage<?> page) {
+        return CommonResponse.<T>builder()
+                .data(data)
+                .pagination(new Pagination(page))
+                .facets(page.getFacets())
+                .status(new Status("SUCCESS", "Request processed successfully"))
+                .build();
+    }
+
+    public static <T> CommonResponse<T> success(T data, CursorPage<?> page) {
+        return CommonResponse.<T>builder()
+                .data(data)
+                .pagination(new Pagination(page))
+                .status(new Status("SUCCESS", "Request processed successfully"))
+                .build();
+    }
+
     public static <T> CommonResponse<T> success(T data) {
         return CommonResponse.<T>builder()
                 .data(data)
@@ -52,19 +71,31 @@ public class CommonResponse<T> {
 
     @Data
     @FieldDefaults(level = AccessLevel.PRIVATE)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class Pagination {
-        int page;
-        int size;
-        long totalElements;
-        int totalPages;
-        boolean lastPage;
+        Integer page;
+        Integer size;
+        Long totalElements;
+        // False when totalElements is a lower bound or an estimate
+        Boolean totalExact;
+        Integer totalPages;
+        Boolean lastPage;
+        String nextCursor;
+        Boolean hasMore;
 
         public Pagination(Page<?> page) {
             this.page = page.getNumber() + 1;
             this.size = page.getSize();
             this.totalElements = page.getTotalElements();
+            this.totalExact = CountedPage.isTotalExact(page);
             this.totalPages = page.getTotalPages();
             this.lastPage = page.isLast();
         }
+
+        public Pagination(CursorPage<?> page) {
+            this.size = page.size();
+            this.nextCursor = page.nextCursor();
+            this.hasMore = page.hasMore();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.azdev.hirgobackend.dtos.common.response;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A page whose total may be a lower bound or an estimate instead of an exact count.
+ * Whether another page follows is known from the rows themselves, so it stays accurate either way.
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final boolean totalExact;
+    private final boolean hasNext;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean totalExact, boolean hasNext) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * @return Whether the total of the page is an exact count; true for any page that is not a CountedPage
+     */
+    public static boolean isTotalExact(Page<?> page) {
+        return !(page instanceof CountedPage<?> counted) || counted.isTotalExact();
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public boolean isLast() {
+        return !hasNext;
+    }
+
+    @Override
+    public <U> CountedPage<U> map(Function<? super T, ? extends U> converter) {
+        return new CountedPage<>(getConvertedContent(converter), getPageable(), getTotalElements(), totalExact, hasNext);
+    }
+}
@@ -0,0 +1,14 @@
+package com.azdev.hirgobackend.dtos.common.response;
+
+import java.util.List;
+
+/**
+ * A page of results addressed by an opaque continuation token instead of an offset.
+ * No total count is computed; {@code hasMore} tells the client whether {@code nextCursor} leads anywhere.
+ */
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasMore
+) {}
@@ -0,0 +1,22 @@
+package com.azdev.hirgobackend.dtos.common.response;
+
+import java.util.Map;
+import org.springframework.data.domain.Page;
+
+/**
+ * A page of results with the number of matches per facet value, keyed by facet name and then by value id.
+ * {@code facets} is null when the counts could not be computed.
+ */
+public class FacetedPage<T> extends CountedPage<T> {
+
+    private final Map<String, Map<Long, Long>> facets;
+
+    public FacetedPage(Page<T> page, Map<String, Map<Long, Long>> facets) {
+        super(page.getContent(), page.getPageable(), page.getTotalElements(), isTotalExact(page), page.hasNext());
+        this.facets = facets;
+    }
+
+    public Map<String, Map<Long, Long>> getFacets() {
+        return facets;
+    }
+}
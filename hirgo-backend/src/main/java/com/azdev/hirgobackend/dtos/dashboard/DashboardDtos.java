@@ -8,9 +8,42 @@ public class DashboardDtos {
             long totalVacancies,
             long activeVacancies,
             long totalApplicants,
-            long newApplicants
+            long newApplicants,
+            long totalViews,
+            long uniqueViewers,
+            long viewsLast7Days
     ) {}
 
+    /**
+     * The change of each metric since the last push of a live dashboard stream; unchanged metrics are 0
+     */
+    public record MetricsDelta(
+            long totalVacancies,
+            long activeVacancies,
+            long totalApplicants,
+            long newApplicants,
+            long totalViews,
+            long uniqueViewers,
+            long viewsLast7Days
+    ) {
+        public static MetricsDelta between(Metrics from, Metrics to) {
+            return new MetricsDelta(
+                    to.totalVacancies() - from.totalVacancies(),
+                    to.activeVacancies() - from.activeVacancies(),
+                    to.totalApplicants() - from.totalApplicants(),
+                    to.newApplicants() - from.newApplicants(),
+                    to.totalViews() - from.totalViews(),
+                    to.uniqueViewers() - from.uniqueViewers(),
+                    to.viewsLast7Days() - from.viewsLast7Days()
+            );
+        }
+
+        public boolean isEmpty() {
+            return totalVacancies == 0 && activeVacancies == 0 && totalApplicants == 0 && newApplicants == 0
+                    && totalViews == 0 && uniqueViewers == 0 && viewsLast7Days == 0;
+        }
+    }
+
     public record RecentApplicant(
             Long id,
             String fullName,
@@ -22,6 +55,7 @@ public class DashboardDtos {
             String id,
             String title,
             long applicants,
+            long views,
             String status
     ) {}
 
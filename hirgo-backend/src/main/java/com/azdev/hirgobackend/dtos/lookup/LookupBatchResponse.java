@@ -0,0 +1,13 @@
+package com.azdev.hirgobackend.dtos.lookup;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lookups resolved in one call. Unknown ids are left out; unknown types map to an empty list.
+ *
+ * @param byId The requested ids, in request order
+ * @param byType All lookups of each requested type
+ */
+public record LookupBatchResponse(Map<Long, LookupResponse> byId, Map<String, List<LookupResponse>> byType) {
+}
@@ -0,0 +1,20 @@
+package com.azdev.hirgobackend.dtos.resume;
+
+import com.azdev.hirgobackend.enums.PdfJobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * State of an asynchronous PDF job
+ *
+ * @param queuePosition Renders ahead of this one, only while queued
+ * @param sizeBytes Size of the finished PDF
+ * @param downloadUrl Where to fetch the PDF once completed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PdfJobResponse(String jobId,
+                             PdfJobStatus status,
+                             Long queuePosition,
+                             Long sizeBytes,
+                             String downloadUrl,
+                             String error) {
+}
@@ -0,0 +1,11 @@
+package com.azdev.hirgobackend.dtos.resume;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class ResumeExportRequest {
+    @NotEmpty(message = "Resume ids cannot be empty")
+    private List<Long> resumeIds;
+}
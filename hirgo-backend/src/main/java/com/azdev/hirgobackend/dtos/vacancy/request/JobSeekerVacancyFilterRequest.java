@@ -9,4 +9,7 @@ public record JobSeekerVacancyFilterRequest(
         Long workScheduleId,
         Long minSalary,
         Long maxSalary,
-        PostedTime postedTime) {}
\ No newline at end of file
+        PostedTime postedTime,
+        Long experienceLevelId,
+        Long educationLevelId,
+        Long languageSkillId) {}
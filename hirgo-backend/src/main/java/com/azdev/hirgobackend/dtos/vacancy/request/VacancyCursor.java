@@ -0,0 +1,53 @@
+package com.azdev.hirgobackend.dtos.vacancy.request;
+
+import com.azdev.hirgobackend.exceptions.domain.vacancy.InvalidVacancyCursorException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Seek position in the job-seeker listing, ordered by {@code (posted_at DESC, id DESC)}.
+ * Travels to the client as an opaque URL-safe token.
+ */
+public record VacancyCursor(LocalDateTime postedAt, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static VacancyCursor of(Timestamp postedAt, String id) {
+        return new VacancyCursor(postedAt.toLocalDateTime(), id);
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}
+     *
+     * @param token The continuation token, {@code null} or blank for the first page
+     * @return The decoded cursor or {@code null} when the first page is requested
+     * @throws InvalidVacancyCursorException if the token is malformed
+     */
+    public static VacancyCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new InvalidVacancyCursorException(token);
+            }
+            return new VacancyCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidVacancyCursorException(token);
+        }
+    }
+
+    public String encode() {
+        String raw = postedAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Timestamp postedAtTimestamp() {
+        return Timestamp.valueOf(postedAt);
+    }
+}
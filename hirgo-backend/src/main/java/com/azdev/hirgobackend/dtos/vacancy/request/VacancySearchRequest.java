@@ -0,0 +1,13 @@
+package com.azdev.hirgobackend.dtos.vacancy.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Keyword search, optionally narrowed by the same structured filters as the filter endpoint
+ */
+public record VacancySearchRequest(
+        @NotBlank(message = "Search query cannot be empty")
+        @Size(max = 200, message = "Search query cannot be longer than 200 characters")
+        String query,
+        JobSeekerVacancyFilterRequest filter) {}
@@ -0,0 +1,9 @@
+package com.azdev.hirgobackend.dtos.vacancy.response.jobseeker;
+
+import com.azdev.hirgobackend.enums.AutocompleteSuggestionType;
+
+/**
+ * @param text Suggested search text as written in the vacancy or company
+ * @param type What the text is, so the client can label or group it
+ */
+public record AutocompleteSuggestionResponse(String text, AutocompleteSuggestionType type) {}
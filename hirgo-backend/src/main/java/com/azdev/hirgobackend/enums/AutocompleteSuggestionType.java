@@ -0,0 +1,10 @@
+package com.azdev.hirgobackend.enums;
+
+/**
+ * Where an autocomplete suggestion comes from
+ */
+public enum AutocompleteSuggestionType {
+    TITLE,
+    SKILL,
+    COMPANY
+}
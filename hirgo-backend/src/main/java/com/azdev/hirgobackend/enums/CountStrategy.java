@@ -0,0 +1,13 @@
+package com.azdev.hirgobackend.enums;
+
+/**
+ * How a paged endpoint computes the total number of results
+ */
+public enum CountStrategy {
+    // Count every match; the total is always exact
+    EXACT,
+    // Count up to pagination.count-cap matches and stop; beyond that the total is a lower bound
+    CAPPED,
+    // Take the query planner's row estimate; never exact, but costs no scan
+    ESTIMATED
+}
@@ -0,0 +1,8 @@
+package com.azdev.hirgobackend.enums;
+
+public enum PdfJobStatus {
+    QUEUED,
+    RENDERING,
+    COMPLETED,
+    FAILED
+}
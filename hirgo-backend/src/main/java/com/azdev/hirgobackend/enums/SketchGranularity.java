@@ -0,0 +1,13 @@
+package com.azdev.hirgobackend.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum SketchGranularity {
+    HOUR,
+    DAY;
+
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return this == HOUR ? time.truncatedTo(ChronoUnit.HOURS) : time.truncatedTo(ChronoUnit.DAYS);
+    }
+}
@@ -0,0 +1,14 @@
+package com.azdev.hirgobackend.enums;
+
+/**
+ * Lookup-valued vacancy attributes that listings can be filtered on
+ */
+public enum VacancyFacet {
+    CATEGORY,
+    LOCATION_TYPE,
+    EMPLOYMENT_TYPE,
+    WORK_SCHEDULE,
+    EXPERIENCE_LEVEL,
+    EDUCATION_LEVEL,
+    LANGUAGE_SKILL
+}
@@ -3,6 +3,7 @@ package com.azdev.hirgobackend.exceptions.common.handler;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
 import com.azdev.hirgobackend.exceptions.common.base.BaseException;
+import com.azdev.hirgobackend.exceptions.domain.pdf.PdfRenderRejectedException;
 import com.azdev.hirgobackend.dtos.common.response.CommonResponse;
 
 import org.springframework.http.HttpStatus;
@@ -32,6 +34,16 @@ public class GlobalExceptionHandler {
                 .body(CommonResponse.error(ex.getMessage(), ex.getStatus()));
     }
 
+    @ExceptionHandler(PdfRenderRejectedException.class)
+    public ResponseEntity<CommonResponse<?>> handlePdfRenderRejectedException(
+            PdfRenderRejectedException ex,
+            WebRequest request) {
+        log.warn("PDF render rejected: {}", ex.getMessage());
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(CommonResponse.error(ex.getMessage(), ex.getStatus()));
+    }
+
     @ExceptionHandler(AuthorizationDeniedException.class)
     public ResponseEntity<CommonResponse<?>> handleAuthorizationDeniedException(
             AuthorizationDeniedException ex,
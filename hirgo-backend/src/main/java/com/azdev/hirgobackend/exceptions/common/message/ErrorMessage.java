@@ -15,6 +15,7 @@ public enum ErrorMessage {
     VACANCY_INVALID_DATE("Application deadline cannot be in the past"),
     VACANCY_INVALID_SALARY("Salary must be greater than zero"),
     VACANCY_NOT_OWNED("You don't have permission to access vacancy with id: %s"),
+    VACANCY_INVALID_CURSOR("Invalid pagination cursor: %s"),
     
     // Category related error messages
     CATEGORY_NOT_FOUND("Category not found with id: %s"),
@@ -26,6 +27,20 @@ public enum ErrorMessage {
 
     // Lookup related error messages
     LOOKUP_NOT_FOUND("Lookup not found with id: %s"),
+    LOOKUP_BATCH_TOO_LARGE("At most %s lookup ids and types can be resolved at once"),
+
+    // PDF related error messages
+    PDF_RENDER_BUSY("PDF renderer is busy, retry in %s seconds"),
+    PDF_JOB_NOT_FOUND("PDF job not found with id: %s"),
+    PDF_JOB_NOT_READY("PDF job %s is not completed yet"),
+    PDF_JOB_LIMIT_REACHED("Too many unfinished PDF jobs, at most %s are allowed"),
+
+    // Resume related error messages
+    RESUME_TEMPLATE_NOT_FOUND("Resume template not found: %s"),
+    RESUME_EXPORT_TOO_LARGE("At most %s resumes can be exported at once"),
+
+    // Dashboard related error messages
+    DASHBOARD_STREAM_LIMIT_REACHED("Too many open dashboard streams, at most %s are allowed per company"),
 
     // General error messages
     INVALID_REQUEST("Invalid request: %s"),
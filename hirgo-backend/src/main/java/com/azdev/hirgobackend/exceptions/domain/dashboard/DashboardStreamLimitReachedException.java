@@ -0,0 +1,12 @@
+package com.azdev.hirgobackend.exceptions.domain.dashboard;
+
+import com.azdev.hirgobackend.exceptions.common.base.BaseException;
+import com.azdev.hirgobackend.exceptions.common.message.ErrorMessage;
+import com.azdev.hirgobackend.exceptions.common.message.MessageProvider;
+import org.springframework.http.HttpStatus;
+
+public class DashboardStreamLimitReachedException extends BaseException {
+    public DashboardStreamLimitReachedException(int limit) {
+        super(MessageProvider.getMessage(ErrorMessage.DASHBOARD_STREAM_LIMIT_REACHED, limit), HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
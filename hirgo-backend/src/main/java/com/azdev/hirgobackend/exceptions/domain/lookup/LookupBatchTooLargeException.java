@@ -0,0 +1,12 @@
+package com.azdev.hirgobackend.exceptions.domain.lookup;
+
+import com.azdev.hirgobackend.exceptions.common.base.BaseException;
+import com.azdev.hirgobackend.exceptions.common.message.ErrorMessage;
+import com.azdev.hirgobackend.exceptions.common.message.MessageProvider;
+import org.springframework.http.HttpStatus;
+
+public class LookupBatchTooLargeException extends BaseException {
+    public LookupBatchTooLargeException(int maxItems) {
+        super(MessageProvider.getMessage(ErrorMessage.LOOKUP_BATCH_TOO_LARGE, maxItems), HttpStatus.BAD_REQUEST);
+    }
+}
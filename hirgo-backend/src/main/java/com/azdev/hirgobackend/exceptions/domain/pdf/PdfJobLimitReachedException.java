@@ -0,0 +1,12 @@
+package com.azdev.hirgobackend.exceptions.domain.pdf;
+
+import com.azdev.hirgobackend.exceptions.common.base.BaseException;
+import com.azdev.hirgobackend.exceptions.common.message.ErrorMessage;
+import com.azdev.hirgobackend.exceptions.common.message.MessageProvider;
+import org.springframework.http.HttpStatus;
+
+public class PdfJobLimitReachedException extends BaseException {
+    public PdfJobLimitReachedException(int limit) {
+        super(MessageProvider.getMessage(ErrorMessage.PDF_JOB_LIMIT_REACHED, limit), HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
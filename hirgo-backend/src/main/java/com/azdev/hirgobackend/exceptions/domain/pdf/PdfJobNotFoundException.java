@@ -0,0 +1,12 @@
+package com.azdev.hirgobackend.exceptions.domain.pdf;
+
+import com.azdev.hirgobackend.exceptions.common.base.BaseException;
+import com.azdev.hirgobackend.exceptions.common.message.ErrorMessage;
+import com.azdev.hirgobackend.exceptions.common.message.MessageProvider;
+import org.springframework.http.HttpStatus;
+
+public class PdfJobNotFoundException extends BaseException {
+    public PdfJobNotFoundException(String jobId) {
+        super(MessageProvider.getMessage(ErrorMessage.PDF_JOB_NOT_FOUND, jobId), HttpStatus.NOT_FOUND);
+    }
+}
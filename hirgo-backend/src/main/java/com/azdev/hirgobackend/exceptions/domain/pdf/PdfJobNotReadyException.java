@@ -0,0 +1,12 @@
+package com.azdev.hirgobackend.exceptions.domain.pdf;
+
+import com.azdev.hirgobackend.exceptions.common.base.BaseException;
+import com.azdev.hirgobackend.exceptions.common.message.ErrorMessage;
+import com.azdev.hirgobackend.exceptions.common.message.MessageProvider;
+import org.springframework.http.HttpStatus;
+
+public class PdfJobNotReadyException extends BaseException {
+    public PdfJobNotReadyException(String jobId) {
+        super(MessageProvider.getMessage(ErrorMessage.PDF_JOB_NOT_READY, jobId), HttpStatus.CONFLICT);
+    }
+}
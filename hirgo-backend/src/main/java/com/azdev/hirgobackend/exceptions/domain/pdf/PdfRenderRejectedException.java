@@ -0,0 +1,17 @@
+package com.azdev.hirgobackend.exceptions.domain.pdf;
+
+import com.azdev.hirgobackend.exceptions.common.base.BaseException;
+import com.azdev.hirgobackend.exceptions.common.message.ErrorMessage;
+import com.azdev.hirgobackend.exceptions.common.message.MessageProvider;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class PdfRenderRejectedException extends BaseException {
+    private final int retryAfterSeconds;
+
+    public PdfRenderRejectedException(int retryAfterSeconds) {
+        super(MessageProvider.getMessage(ErrorMessage.PDF_RENDER_BUSY, retryAfterSeconds), HttpStatus.SERVICE_UNAVAILABLE);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,12 @@
+package com.azdev.hirgobackend.exceptions.domain.resume;
+
+import com.azdev.hirgobackend.exceptions.common.base.BaseException;
+import com.azdev.hirgobackend.exceptions.common.message.ErrorMessage;
+import com.azdev.hirgobackend.exceptions.common.message.MessageProvider;
+import org.springframework.http.HttpStatus;
+
+public class ResumeExportTooLargeException extends BaseException {
+    public ResumeExportTooLargeException(int maxItems) {
+        super(MessageProvider.getMessage(ErrorMessage.RESUME_EXPORT_TOO_LARGE, maxItems), HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,12 @@
+package com.azdev.hirgobackend.exceptions.domain.resume;
+
+import com.azdev.hirgobackend.exceptions.common.base.BaseException;
+import com.azdev.hirgobackend.exceptions.common.message.ErrorMessage;
+import com.azdev.hirgobackend.exceptions.common.message.MessageProvider;
+import org.springframework.http.HttpStatus;
+
+public class ResumeTemplateNotFoundException extends BaseException {
+    public ResumeTemplateNotFoundException(String templateId) {
+        super(MessageProvider.getMessage(ErrorMessage.RESUME_TEMPLATE_NOT_FOUND, templateId), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+}
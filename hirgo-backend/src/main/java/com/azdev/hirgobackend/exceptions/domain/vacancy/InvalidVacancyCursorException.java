@@ -0,0 +1,12 @@
+package com.azdev.hirgobackend.exceptions.domain.vacancy;
+
+import com.azdev.hirgobackend.exceptions.common.base.BaseException;
+import com.azdev.hirgobackend.exceptions.common.message.ErrorMessage;
+import com.azdev.hirgobackend.exceptions.common.message.MessageProvider;
+import org.springframework.http.HttpStatus;
+
+public class InvalidVacancyCursorException extends BaseException {
+    public InvalidVacancyCursorException(String cursor) {
+        super(MessageProvider.getMessage(ErrorMessage.VACANCY_INVALID_CURSOR, cursor), HttpStatus.BAD_REQUEST);
+    }
+}
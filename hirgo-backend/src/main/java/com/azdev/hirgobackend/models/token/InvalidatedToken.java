@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.Date;
+import java.util.UUID;
 
 @Entity
 @Table(name = "invalidated_tokens", schema = "auth")
@@ -19,14 +20,25 @@ public class InvalidatedToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false, unique = true)
+    // Only set on rows written before revocations were keyed by jti
+    @Column(unique = true)
     private String token;
+
+    @Column(unique = true)
+    private UUID jti;
+
+    @Column(name = "subject")
+    private String subject;
     
     @Column(name = "expiry_date", nullable = false)
     private Date expiryDate;
     
     @Column(name = "invalidated_at", nullable = false)
     private Date invalidatedAt;
+
+    // Set by the database when the row is inserted
+    @Column(name = "recorded_at", insertable = false, updatable = false)
+    private Date recordedAt;
     
     @Column(name = "user_id")
     private Long userId;
@@ -0,0 +1,33 @@
+package com.azdev.hirgobackend.models.vacancy;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * HyperLogLog registers of the viewers of one vacancy within one hour or day
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "vacancy_view_sketches")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class VacancyViewSketch {
+
+    @EmbeddedId
+    VacancyViewSketchId id;
+
+    @Column(name = "registers", nullable = false, columnDefinition = "bytea")
+    byte[] registers;
+
+    @Column(name = "updated_at", nullable = false)
+    LocalDateTime updatedAt;
+}
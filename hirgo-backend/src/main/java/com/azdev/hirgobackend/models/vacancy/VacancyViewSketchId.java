@@ -0,0 +1,32 @@
+package com.azdev.hirgobackend.models.vacancy;
+
+import com.azdev.hirgobackend.enums.SketchGranularity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class VacancyViewSketchId implements Serializable {
+
+    @Column(name = "vacancy_id", nullable = false)
+    String vacancyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false)
+    SketchGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    LocalDateTime bucketStart;
+}
@@ -0,0 +1,126 @@
+package com.azdev.hirgobackend.repositories;
+
+import com.azdev.hirgobackend.models.company.Company;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes of the company_stats rollup. View totals are added by
+ * {@link VacancyViewRepository#incrementViewCounts} as view counts are flushed; vacancy counts are
+ * recounted from the company's own vacancies, which keeps them right however writes interleave.
+ */
+public interface CompanyStatsRepository extends Repository<Company, Long> {
+
+    /**
+     * Recount the total and active vacancies of a company after one of its vacancies was written
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO company_stats (company_id, total_vacancies, active_vacancies, next_expiry, updated_at)
+            SELECT c.id,
+                   COUNT(v.id),
+                   COUNT(v.id) FILTER (WHERE v.application_deadline > now()),
+                   MIN(v.application_deadline) FILTER (WHERE v.application_deadline > now()),
+                   now()
+            FROM companies c
+            LEFT JOIN vacancies v ON v.company_id = c.id
+            WHERE c.id = :companyId
+            GROUP BY c.id
+            ON CONFLICT (company_id)
+            DO UPDATE SET total_vacancies = EXCLUDED.total_vacancies,
+                          active_vacancies = EXCLUDED.active_vacancies,
+                          next_expiry = EXCLUDED.next_expiry,
+                          updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void refreshVacancyCounts(@Param("companyId") Long companyId);
+
+    /**
+     * Recount the active vacancies of every company with a vacancy whose application deadline has passed
+     * since the last recount
+     *
+     * @return Number of companies updated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE company_stats s
+            SET active_vacancies = c.active,
+                next_expiry = c.next_expiry,
+                updated_at = now()
+            FROM (
+                SELECT s2.company_id,
+                       COUNT(v.id) FILTER (WHERE v.application_deadline > now()) AS active,
+                       MIN(v.application_deadline) FILTER (WHERE v.application_deadline > now()) AS next_expiry
+                FROM company_stats s2
+                LEFT JOIN vacancies v ON v.company_id = s2.company_id
+                WHERE s2.next_expiry <= now()
+                GROUP BY s2.company_id
+            ) c
+            WHERE s.company_id = c.company_id
+            """, nativeQuery = true)
+    int expireVacancies();
+
+    /**
+     * Recount the vacancies of every company, correcting any drift
+     *
+     * @return Number of companies written
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO company_stats (company_id, total_vacancies, active_vacancies, next_expiry, updated_at)
+            SELECT c.id,
+                   COUNT(v.id),
+                   COUNT(v.id) FILTER (WHERE v.application_deadline > now()),
+                   MIN(v.application_deadline) FILTER (WHERE v.application_deadline > now()),
+                   now()
+            FROM companies c
+            LEFT JOIN vacancies v ON v.company_id = c.id
+            GROUP BY c.id
+            ON CONFLICT (company_id)
+            DO UPDATE SET total_vacancies = EXCLUDED.total_vacancies,
+                          active_vacancies = EXCLUDED.active_vacancies,
+                          next_expiry = EXCLUDED.next_expiry,
+                          updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int reconcileVacancyCounts();
+
+    /**
+     * Companies viewed since their unique viewer estimate was last refreshed. Sketches are persisted after
+     * the view counts, so an estimate taken within {@code sketchLagMs} of the last view is refreshed again.
+     */
+    @Query(value = """
+            SELECT s.company_id
+            FROM company_stats s
+            WHERE s.viewed_at IS NOT NULL
+              AND (s.unique_viewers_at IS NULL
+                   OR s.unique_viewers_at < s.viewed_at + CAST(:sketchLagMs AS bigint) * INTERVAL '1 millisecond')
+            ORDER BY s.unique_viewers_at NULLS FIRST
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findCompaniesWithStaleUniqueViewers(@Param("sketchLagMs") long sketchLagMs, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE company_stats
+            SET unique_viewers = :uniqueViewers,
+                unique_viewers_at = :estimatedAt
+            WHERE company_id = :companyId
+            """, nativeQuery = true)
+    void updateUniqueViewers(@Param("companyId") Long companyId,
+                             @Param("uniqueViewers") long uniqueViewers,
+                             @Param("estimatedAt") LocalDateTime estimatedAt);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM company_daily_views WHERE day < :before", nativeQuery = true)
+    int deleteDailyViewsBefore(@Param("before") LocalDate before);
+}
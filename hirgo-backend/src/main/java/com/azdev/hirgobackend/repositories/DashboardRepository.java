@@ -0,0 +1,132 @@
+package com.azdev.hirgobackend.repositories;
+
+import com.azdev.hirgobackend.models.vacancy.Vacancy;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+public interface DashboardRepository extends Repository<Vacancy, String> {
+
+    /**
+     * Everything the company dashboard shows, in one round trip. Company figures come from the company_stats
+     * rollup, see {@link CompanyStatsRepository}. Both lists come back as JSON arrays in the shape of
+     * {@link com.azdev.hirgobackend.dtos.dashboard.DashboardDtos}, newest first.
+     *
+     * @param now The current time; the trailing week of views ends today
+     * @param newSince Applicants created after this are new
+     */
+    @Query(value = """
+            WITH company AS (
+                SELECT COALESCE(s.total_vacancies, 0) AS total_vacancies,
+                       COALESCE(s.active_vacancies, 0) AS active_vacancies,
+                       COALESCE(s.total_views, 0) AS total_views,
+                       COALESCE(s.unique_viewers, 0) AS unique_viewers
+                FROM (SELECT 1) one
+                LEFT JOIN company_stats s ON s.company_id = :companyId
+            ),
+            applicant_counts AS (
+                SELECT COUNT(*) AS total,
+                       COUNT(*) FILTER (WHERE a.created_at > :newSince) AS recent
+                FROM applicants a
+            ),
+            recent_applicants AS (
+                SELECT a.id, a.first_name, a.last_name, a.email, a.created_at
+                FROM applicants a
+                ORDER BY a.created_at DESC
+                LIMIT 10
+            ),
+            recent_vacancies AS (
+                SELECT v.id, v.title, v.application_deadline, v.posted_at
+                FROM vacancies v
+                WHERE v.company_id = :companyId
+                ORDER BY v.posted_at DESC
+                LIMIT 10
+            )
+            SELECT
+                co.total_vacancies AS totalVacancies,
+                co.active_vacancies AS activeVacancies,
+                ac.total AS totalApplicants,
+                ac.recent AS newApplicants,
+                co.total_views AS totalViews,
+                co.unique_viewers AS uniqueViewers,
+                (SELECT COALESCE(SUM(d.view_count), 0)
+                 FROM company_daily_views d
+                 WHERE d.company_id = :companyId
+                   AND d.day > CAST(:now AS date) - 7) AS viewsLast7Days,
+                CAST((SELECT COALESCE(json_agg(json_build_object(
+                            'id', ra.id,
+                            'fullName', ra.first_name || ' ' || ra.last_name,
+                            'email', ra.email,
+                            'createdAt', ra.created_at) ORDER BY ra.created_at DESC), '[]')
+                      FROM recent_applicants ra) AS text) AS recentApplicants,
+                CAST((SELECT COALESCE(json_agg(json_build_object(
+                            'id', rv.id,
+                            'title', rv.title,
+                            'applicationDeadline', rv.application_deadline,
+                            'views', COALESCE(vv.view_count, 0)) ORDER BY rv.posted_at DESC), '[]')
+                      FROM recent_vacancies rv
+                      LEFT JOIN vacancy_views vv ON vv.vacancy_id = rv.id) AS text) AS recentVacancies
+            FROM company co
+            CROSS JOIN applicant_counts ac
+            """, nativeQuery = true)
+    CompanyDashboardRow getCompanyDashboard(@Param("companyId") Long companyId,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("newSince") LocalDateTime newSince);
+
+    /**
+     * The dashboard metrics of several companies at once, for pushing changes to live dashboards. Matches the
+     * metrics of {@link #getCompanyDashboard}.
+     */
+    @Query(value = """
+            WITH applicant_counts AS (
+                SELECT COUNT(*) AS total,
+                       COUNT(*) FILTER (WHERE a.created_at > :newSince) AS recent
+                FROM applicants a
+            )
+            SELECT
+                c.id AS companyId,
+                COALESCE(s.total_vacancies, 0) AS totalVacancies,
+                COALESCE(s.active_vacancies, 0) AS activeVacancies,
+                ac.total AS totalApplicants,
+                ac.recent AS newApplicants,
+                COALESCE(s.total_views, 0) AS totalViews,
+                COALESCE(s.unique_viewers, 0) AS uniqueViewers,
+                (SELECT COALESCE(SUM(d.view_count), 0)
+                 FROM company_daily_views d
+                 WHERE d.company_id = c.id
+                   AND d.day > CAST(:now AS date) - 7) AS viewsLast7Days
+            FROM companies c
+            LEFT JOIN company_stats s ON s.company_id = c.id
+            CROSS JOIN applicant_counts ac
+            WHERE c.id IN (:companyIds)
+            """, nativeQuery = true)
+    List<CompanyMetricsRow> getCompanyMetrics(@Param("companyIds") Collection<Long> companyIds,
+                                              @Param("now") LocalDateTime now,
+                                              @Param("newSince") LocalDateTime newSince);
+
+    interface CompanyMetricsRow {
+        Long getCompanyId();
+        Long getTotalVacancies();
+        Long getActiveVacancies();
+        Long getTotalApplicants();
+        Long getNewApplicants();
+        Long getTotalViews();
+        Long getUniqueViewers();
+        Long getViewsLast7Days();
+    }
+
+    interface CompanyDashboardRow {
+        Long getTotalVacancies();
+        Long getActiveVacancies();
+        Long getTotalApplicants();
+        Long getNewApplicants();
+        Long getTotalViews();
+        Long getUniqueViewers();
+        Long getViewsLast7Days();
+        String getRecentApplicants();
+        String getRecentVacancies();
+    }
+}
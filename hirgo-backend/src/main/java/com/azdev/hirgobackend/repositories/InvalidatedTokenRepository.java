@@ -6,17 +6,46 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 @Repository
 public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, Long> {
     boolean existsByToken(String token);
     
     @Modifying
+    @Transactional
     @Query("DELETE FROM InvalidatedToken t WHERE t.expiryDate < :now")
-    void deleteExpiredTokens(Date now);
+    int deleteExpiredTokens(Date now);
+
+    /**
+     * Record a revocation; a jti already recorded by another node is skipped.
+     * recorded_at is left to the database, so a revocation written late still sorts after earlier polls.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO auth.invalidated_tokens (jti, subject, token_type, expiry_date, invalidated_at)
+            VALUES (:jti, :subject, :tokenType, :expiryDate, :invalidatedAt)
+            ON CONFLICT (jti) DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("jti") UUID jti,
+                        @Param("subject") String subject,
+                        @Param("tokenType") String tokenType,
+                        @Param("expiryDate") Date expiryDate,
+                        @Param("invalidatedAt") Date invalidatedAt);
+
+    // Revocations still in force, loaded at startup
+    List<InvalidatedToken> findByExpiryDateAfter(Date now);
+
+    // Revocations recorded since the given database time, polled to pick up other nodes' writes
+    List<InvalidatedToken> findByRecordedAtAfter(Date since);
+
+    // Latest recording time, or the database's current time if nothing was recorded yet
+    @Query(value = "SELECT COALESCE(MAX(recorded_at), LOCALTIMESTAMP) FROM auth.invalidated_tokens", nativeQuery = true)
+    Date findLatestRecordedAt();
     
     // This method is not needed anymore as we're only checking specific tokens
     // @Query("SELECT t FROM InvalidatedToken t WHERE t.userId = :userId AND t.tokenType = 'ACCESS'")
@@ -8,113 +8,283 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+/**
+ * Job-seeker reads. Every query is served from the vacancy_listings read model, whose rows already carry
+ * the company, category and lookup labels, language skills and view count, see
+ * {@link VacancyListingRepository}.
+ */
 public interface JobSeekerVacancyRepository extends JpaRepository<Vacancy, UUID> {
 
         @Query(value = """
-                WITH language_skills_agg AS (
-                   SELECT lsi.vacancy_id, json_agg(l.name) AS language_skills
-                   FROM vacancy_language_skills_ids lsi
-                   JOIN lookups l ON l.id = lsi.language_skills_ids
-                   GROUP BY lsi.vacancy_id
-                )
                 SELECT
                     v.id AS id,
                     v.title AS title,
-                    c.name AS company_name,
+                    v.company_name AS company_name,
                     v.posted_at AS posted_at,
-                    exp.name AS experience_level,
-                    edu.name AS education_level,
+                    v.experience_level AS experience_level,
+                    v.education_level AS education_level,
                     v.salary AS salary,
                     v.application_deadline,
-                    cat.name as category_name,
-                    lsa.language_skills AS language_skills,
+                    v.category_name as category_name,
+                    CAST(v.language_skills AS text) AS language_skills,
                     v.responsibilities,
                     v.education,
                     v.experience,
                     v.required_skills,
                     v.preferred_skills
-                FROM vacancies v
-                LEFT JOIN companies c ON c.id = v.company_id
-                LEFT JOIN categories cat ON cat.id = v.category_id
-                LEFT JOIN lookups exp ON exp.id = v.experience_level_id
-                LEFT JOIN lookups edu ON edu.id = v.education_level_id
-                LEFT JOIN language_skills_agg lsa ON lsa.vacancy_id = v.id
+                FROM vacancy_listings v
                 WHERE v.id = :vacancyId
         """, nativeQuery = true)
         Optional<JobSeekerVacancyDetailsResponse> getVacancyDetailsById(@Param("vacancyId") String vacancyId);
 
+        /**
+         * Vacancies job seekers see. One without a posting date has no place in the {@code (posted_at, id)}
+         * order the keyset queries seek through, so it is left out of every listing, paged either way.
+         */
+        String LISTED = " v.posted_at IS NOT NULL\n";
+
+        /**
+         * Conditions of the filtered listing, count and search queries; a null parameter matches every vacancy.
+         * Written as {@code param IS NULL OR column = param} so the planner sees through unset filters,
+         * which also keeps its row estimates usable, see {@link #FILTERED_ROWS}.
+         */
+        String FILTER_CONDITIONS = LISTED + """
+                  AND (CAST(:locationTypeId AS bigint) IS NULL OR v.location_type_id = :locationTypeId)
+                  AND (CAST(:categoryId AS bigint) IS NULL OR v.category_id = :categoryId)
+                  AND v.salary >= COALESCE(CAST(:minSalary AS bigint), 0)
+                  AND v.salary <= COALESCE(CAST(:maxSalary AS bigint), 9223372036854775807)
+                  AND (CAST(:employmentTypeId AS bigint) IS NULL OR v.employment_type_id = :employmentTypeId)
+                  AND (CAST(:workScheduleId AS bigint) IS NULL OR v.work_schedule_id = :workScheduleId)
+                  AND ((:postedTimeDate)::timestamp IS NULL OR v.posted_at >= (:postedTimeDate)::timestamp)
+                  AND (CAST(:experienceLevelId AS bigint) IS NULL OR v.experience_level_id = :experienceLevelId)
+                  AND (CAST(:educationLevelId AS bigint) IS NULL OR v.education_level_id = :educationLevelId)
+                  AND (CAST(:languageSkillId AS bigint) IS NULL OR v.language_skills_ids @> ARRAY[CAST(:languageSkillId AS bigint)])
+                """;
+
+        String SEARCH_CONDITIONS = " d.document @@ to_tsquery('simple', :tsquery) AND" + FILTER_CONDITIONS;
+
+        /**
+         * Rows matched by {@link #findVacanciesWithFilters}, for planner estimates of its total
+         */
+        String FILTERED_ROWS = "SELECT 1 FROM vacancy_listings v WHERE " + FILTER_CONDITIONS;
+
+        /**
+         * Rows matched by {@link #searchVacancies}, for planner estimates of its total
+         */
+        String SEARCHED_ROWS = """
+                  SELECT 1
+                  FROM vacancy_search_documents d
+                  JOIN vacancy_listings v ON v.id = d.vacancy_id
+                  WHERE """ + SEARCH_CONDITIONS;
+
+        String LISTED_ROWS = "SELECT 1 FROM vacancy_listings v WHERE" + LISTED;
+
+        /**
+         * One page of the listing plus a look-ahead row; the total is counted separately, see
+         * {@link #countListed(Long)}
+         */
         @Query(value = """
         SELECT
             v.id AS id,
             v.title AS title,
-            c.name AS company_name,
-            c.logo AS company_logo,
+            v.company_name AS company_name,
+            v.company_logo AS company_logo,
             v.posted_at AS posted_at,
-            COALESCE(vv.view_count, 0) AS views,
+            v.view_count AS views,
             (CASE
                 WHEN v.posted_at >= NOW() - INTERVAL '3 days' THEN true
                 ELSE false
              END) AS is_new
-        FROM vacancies v
-        LEFT JOIN companies c ON v.company_id = c.id
-        LEFT JOIN categories cat ON v.category_id = cat.id
-        LEFT JOIN vacancy_views vv ON vv.vacancy_id = v.id
-        """,
-                countQuery = """
-        SELECT COUNT(*) 
-        FROM vacancies v
-        LEFT JOIN companies c ON v.company_id = c.id
-        LEFT JOIN categories cat ON v.category_id = cat.id
-        LEFT JOIN vacancy_views vv ON vv.vacancy_id = v.id
+        FROM vacancy_listings v
+        WHERE""" + LISTED + """
+        ORDER BY v.posted_at DESC, v.id DESC
         """,
                 nativeQuery = true)
-        Page<JobSeekerVacancyTableResponse> getAllVacanciesForTable(Pageable pageable);
+        Slice<JobSeekerVacancyTableResponse> getAllVacanciesForTable(Pageable pageable);
+
+        /**
+         * @param limit Stop counting after this many vacancies; null counts all of them
+         */
+        @Query(value = """
+                  SELECT COUNT(*) FROM (
+                      """ + LISTED_ROWS + """
+                      LIMIT CAST(:limit AS bigint)
+                  ) counted
+                """,
+                nativeQuery = true)
+        long countListed(@Param("limit") Long limit);
+
+        /**
+         * First page of the keyset variant of {@link #getAllVacanciesForTable(Pageable)}, in
+         * {@code (posted_at DESC, id DESC)} order and without a count query; later pages come from
+         * {@link #getVacanciesForTableAfter}
+         */
+        @Query(value = """
+        SELECT
+            v.id AS id,
+            v.title AS title,
+            v.company_name AS company_name,
+            v.company_logo AS company_logo,
+            v.posted_at AS posted_at,
+            v.view_count AS views,
+            (CASE
+                WHEN v.posted_at >= NOW() - INTERVAL '3 days' THEN true
+                ELSE false
+             END) AS is_new
+        FROM vacancy_listings v
+        WHERE""" + LISTED + """
+        ORDER BY v.posted_at DESC, v.id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+        List<JobSeekerVacancyTableResponse> getVacanciesForTableFirst(@Param("limit") int limit);
+
+        /**
+         * The page after {@code (cursorPostedAt, cursorId)}. Kept apart from the first page so the row
+         * comparison is always a range condition on the (posted_at, id) index, generic plan or not.
+         */
+        @Query(value = """
+        SELECT
+            v.id AS id,
+            v.title AS title,
+            v.company_name AS company_name,
+            v.company_logo AS company_logo,
+            v.posted_at AS posted_at,
+            v.view_count AS views,
+            (CASE
+                WHEN v.posted_at >= NOW() - INTERVAL '3 days' THEN true
+                ELSE false
+             END) AS is_new
+        FROM vacancy_listings v
+        WHERE (v.posted_at, v.id) < (:cursorPostedAt, CAST(:cursorId AS varchar))
+        ORDER BY v.posted_at DESC, v.id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+        List<JobSeekerVacancyTableResponse> getVacanciesForTableAfter(
+                @Param("cursorPostedAt") Timestamp cursorPostedAt,
+                @Param("cursorId") String cursorId,
+                @Param("limit") int limit);
 
 
         @Query(value = """
                   SELECT
                       v.id,
                       v.title,
-                      c.name as companyName,
-                      c.logo,
+                      v.company_name as companyName,
+                      v.company_logo AS logo,
                       v.posted_at AS postedAt,
-                      COALESCE(vv.view_count, 0) as views,
+                      v.view_count as views,
                       (CASE
                         WHEN v.posted_at >= NOW() - INTERVAL '3 days' THEN true
                         ELSE false
                       END) AS isNew
-                  FROM vacancies v
-                  JOIN companies c ON v.company_id = c.id
-                  LEFT JOIN vacancy_views vv ON v.id = vv.vacancy_id
-                  WHERE v.location_type_id = COALESCE(:locationTypeId, v.location_type_id)
-                  AND v.category_id = COALESCE(:categoryId, v.category_id)
-                  AND v.salary >= COALESCE(:minSalary, 0)
-                  AND v.salary <= COALESCE(:maxSalary, 9223372036854775807)
-                  AND v.employment_type_id = COALESCE(:employmentTypeId, v.employment_type_id)
-                  AND v.work_schedule_id = COALESCE(:workScheduleId, v.work_schedule_id)
-                  AND ((:postedTimeDate)::timestamp IS NULL OR v.posted_at >= (:postedTimeDate)::timestamp)
-                """, 
-                countQuery = """
-                  SELECT COUNT(v.id)
-                  FROM vacancies v
-                  JOIN companies c ON v.company_id = c.id
-                  LEFT JOIN vacancy_views vv ON v.id = vv.vacancy_id
-                  WHERE v.location_type_id = COALESCE(:locationTypeId, v.location_type_id)
-                  AND v.category_id = COALESCE(:categoryId, v.category_id)
-                  AND v.salary >= COALESCE(:minSalary, 0)
-                  AND v.salary <= COALESCE(:maxSalary, 9223372036854775807)
-                  AND v.employment_type_id = COALESCE(:employmentTypeId, v.employment_type_id)
-                  AND v.work_schedule_id = COALESCE(:workScheduleId, v.work_schedule_id)
-                  AND ((:postedTimeDate)::timestamp IS NULL OR v.posted_at >= (:postedTimeDate)::timestamp)
+                  FROM vacancy_listings v
+                  WHERE """ + FILTER_CONDITIONS + """
+                  ORDER BY v.posted_at DESC, v.id DESC
+                """,
+                nativeQuery = true)
+        Slice<JobSeekerVacancyTableResponse> findVacanciesWithFilters(
+                @Param("locationTypeId") Long locationTypeId,
+                @Param("categoryId") Long categoryId,
+                @Param("minSalary") Long minSalary,
+                @Param("maxSalary") Long maxSalary,
+                @Param("employmentTypeId") Long employmentTypeId,
+                @Param("workScheduleId") Long workScheduleId,
+                @Param("postedTimeDate") Timestamp postedTimeDate,
+                @Param("experienceLevelId") Long experienceLevelId,
+                @Param("educationLevelId") Long educationLevelId,
+                @Param("languageSkillId") Long languageSkillId,
+                Pageable pageable);
+
+        /**
+         * Total of {@link #findVacanciesWithFilters}
+         *
+         * @param limit Stop counting after this many vacancies; null counts all of them
+         */
+        @Query(value = """
+                  SELECT COUNT(*) FROM (
+                      """ + FILTERED_ROWS + """
+                      LIMIT CAST(:limit AS bigint)
+                  ) counted
+                """,
+                nativeQuery = true)
+        long countVacanciesWithFilters(
+                @Param("locationTypeId") Long locationTypeId,
+                @Param("categoryId") Long categoryId,
+                @Param("minSalary") Long minSalary,
+                @Param("maxSalary") Long maxSalary,
+                @Param("employmentTypeId") Long employmentTypeId,
+                @Param("workScheduleId") Long workScheduleId,
+                @Param("postedTimeDate") Timestamp postedTimeDate,
+                @Param("experienceLevelId") Long experienceLevelId,
+                @Param("educationLevelId") Long educationLevelId,
+                @Param("languageSkillId") Long languageSkillId,
+                @Param("limit") Long limit);
+
+        /**
+         * First page of the keyset variant of {@link #findVacanciesWithFilters}, see
+         * {@link #getVacanciesForTableFirst}
+         */
+        @Query(value = """
+                  SELECT
+                      v.id,
+                      v.title,
+                      v.company_name as companyName,
+                      v.company_logo AS logo,
+                      v.posted_at AS postedAt,
+                      v.view_count as views,
+                      (CASE
+                        WHEN v.posted_at >= NOW() - INTERVAL '3 days' THEN true
+                        ELSE false
+                      END) AS isNew
+                  FROM vacancy_listings v
+                  WHERE """ + FILTER_CONDITIONS + """
+                  ORDER BY v.posted_at DESC, v.id DESC
+                  LIMIT :limit
+                """,
+                nativeQuery = true)
+        List<JobSeekerVacancyTableResponse> findVacanciesWithFiltersFirst(
+                @Param("locationTypeId") Long locationTypeId,
+                @Param("categoryId") Long categoryId,
+                @Param("minSalary") Long minSalary,
+                @Param("maxSalary") Long maxSalary,
+                @Param("employmentTypeId") Long employmentTypeId,
+                @Param("workScheduleId") Long workScheduleId,
+                @Param("postedTimeDate") Timestamp postedTimeDate,
+                @Param("experienceLevelId") Long experienceLevelId,
+                @Param("educationLevelId") Long educationLevelId,
+                @Param("languageSkillId") Long languageSkillId,
+                @Param("limit") int limit);
+
+        /**
+         * Keyset variant of {@link #findVacanciesWithFilters} after the cursor, see
+         * {@link #getVacanciesForTableAfter}
+         */
+        @Query(value = """
+                  SELECT
+                      v.id,
+                      v.title,
+                      v.company_name as companyName,
+                      v.company_logo AS logo,
+                      v.posted_at AS postedAt,
+                      v.view_count as views,
+                      (CASE
+                        WHEN v.posted_at >= NOW() - INTERVAL '3 days' THEN true
+                        ELSE false
+                      END) AS isNew
+                  FROM vacancy_listings v
+                  WHERE """ + FILTER_CONDITIONS + """
+                  AND (v.posted_at, v.id) < (:cursorPostedAt, CAST(:cursorId AS varchar))
+                  ORDER BY v.posted_at DESC, v.id DESC
+                  LIMIT :limit
                 """,
                 nativeQuery = true)
-        Page<JobSeekerVacancyTableResponse> findVacanciesWithFilters(
+        List<JobSeekerVacancyTableResponse> findVacanciesWithFiltersAfter(
                 @Param("locationTypeId") Long locationTypeId,
                 @Param("categoryId") Long categoryId,
                 @Param("minSalary") Long minSalary,
@@ -122,8 +292,179 @@ public interface JobSeekerVacancyRepository extends JpaRepository<Vacancy, UUID>
                 @Param("employmentTypeId") Long employmentTypeId,
                 @Param("workScheduleId") Long workScheduleId,
                 @Param("postedTimeDate") Timestamp postedTimeDate,
+                @Param("experienceLevelId") Long experienceLevelId,
+                @Param("educationLevelId") Long educationLevelId,
+                @Param("languageSkillId") Long languageSkillId,
+                @Param("cursorPostedAt") Timestamp cursorPostedAt,
+                @Param("cursorId") String cursorId,
+                @Param("limit") int limit);
+
+        /**
+         * Keyword search over the vacancy_search_documents read model, combinable with the structured filters.
+         * Title matches rank above company name and skill matches, which rank above responsibilities;
+         * normalization 1 divides by the log of the document length, so long descriptions do not win on
+         * volume alone. Ties fall back to the listing order.
+         *
+         * @param tsquery A query built by {@link com.azdev.hirgobackend.utils.SearchText#prefixQuery(String)}
+         */
+        @Query(value = """
+                  SELECT
+                      v.id,
+                      v.title,
+                      v.company_name as companyName,
+                      v.company_logo AS logo,
+                      v.posted_at AS postedAt,
+                      v.view_count as views,
+                      (CASE
+                        WHEN v.posted_at >= NOW() - INTERVAL '3 days' THEN true
+                        ELSE false
+                      END) AS isNew
+                  FROM vacancy_search_documents d
+                  JOIN vacancy_listings v ON v.id = d.vacancy_id
+                  WHERE """ + SEARCH_CONDITIONS + """
+                  ORDER BY ts_rank(d.document, to_tsquery('simple', :tsquery), 1) DESC,
+                           v.posted_at DESC NULLS LAST,
+                           v.id DESC
+                """,
+                nativeQuery = true)
+        Slice<JobSeekerVacancyTableResponse> searchVacancies(
+                @Param("tsquery") String tsquery,
+                @Param("locationTypeId") Long locationTypeId,
+                @Param("categoryId") Long categoryId,
+                @Param("minSalary") Long minSalary,
+                @Param("maxSalary") Long maxSalary,
+                @Param("employmentTypeId") Long employmentTypeId,
+                @Param("workScheduleId") Long workScheduleId,
+                @Param("postedTimeDate") Timestamp postedTimeDate,
+                @Param("experienceLevelId") Long experienceLevelId,
+                @Param("educationLevelId") Long educationLevelId,
+                @Param("languageSkillId") Long languageSkillId,
                 Pageable pageable);
 
+        /**
+         * Total of {@link #searchVacancies}
+         *
+         * @param limit Stop counting after this many vacancies; null counts all of them
+         */
+        @Query(value = """
+                  SELECT COUNT(*) FROM (
+                      """ + SEARCHED_ROWS + """
+                      LIMIT CAST(:limit AS bigint)
+                  ) counted
+                """,
+                nativeQuery = true)
+        long countSearchVacancies(
+                @Param("tsquery") String tsquery,
+                @Param("locationTypeId") Long locationTypeId,
+                @Param("categoryId") Long categoryId,
+                @Param("minSalary") Long minSalary,
+                @Param("maxSalary") Long maxSalary,
+                @Param("employmentTypeId") Long employmentTypeId,
+                @Param("workScheduleId") Long workScheduleId,
+                @Param("postedTimeDate") Timestamp postedTimeDate,
+                @Param("experienceLevelId") Long experienceLevelId,
+                @Param("educationLevelId") Long educationLevelId,
+                @Param("languageSkillId") Long languageSkillId,
+                @Param("limit") Long limit);
+
+        /**
+         * Table rows for the given ids, in no particular order; used to hydrate a page picked by the search index
+         */
+        @Query(value = """
+                  SELECT
+                      v.id,
+                      v.title,
+                      v.company_name as companyName,
+                      v.company_logo AS logo,
+                      v.posted_at AS postedAt,
+                      v.view_count as views,
+                      (CASE
+                        WHEN v.posted_at >= NOW() - INTERVAL '3 days' THEN true
+                        ELSE false
+                      END) AS isNew
+                  FROM vacancy_listings v
+                  WHERE v.id IN (:ids)
+                """,
+                nativeQuery = true)
+        List<JobSeekerVacancyTableResponse> findTableRowsByIds(@Param("ids") List<String> ids);
+
+        /**
+         * Every vacancy a job seeker can find, with the columns the search index filters on
+         */
+        @Query(value = """
+                  SELECT
+                      v.id AS id,
+                      v.posted_at AS postedAt,
+                      v.salary AS salary,
+                      v.category_id AS categoryId,
+                      v.location_type_id AS locationTypeId,
+                      v.employment_type_id AS employmentTypeId,
+                      v.work_schedule_id AS workScheduleId,
+                      v.experience_level_id AS experienceLevelId,
+                      v.education_level_id AS educationLevelId
+                  FROM vacancy_listings v
+                """,
+                nativeQuery = true)
+        List<SearchIndexRow> findAllForSearchIndex();
+
+        @Query(value = """
+                  SELECT v.id AS vacancyId, skill.value AS languageSkillId
+                  FROM vacancy_listings v
+                  CROSS JOIN LATERAL unnest(v.language_skills_ids) AS skill(value)
+                """,
+                nativeQuery = true)
+        List<SearchIndexLanguageSkillRow> findAllLanguageSkillsForSearchIndex();
+
+        /**
+         * Title, company and popularity of every listed vacancy, for autocomplete
+         */
+        @Query(value = """
+                  SELECT
+                      v.id AS id,
+                      v.company_id AS companyId,
+                      v.title AS title,
+                      v.company_name AS companyName,
+                      v.view_count AS views
+                  FROM vacancy_listings v
+                """,
+                nativeQuery = true)
+        List<AutocompleteRow> findAllForAutocomplete();
+
+        @Query(value = """
+                  SELECT v.id AS vacancyId, skill.value AS skill
+                  FROM vacancy_listings v
+                  CROSS JOIN LATERAL unnest(v.required_skills) AS skill(value)
+                """,
+                nativeQuery = true)
+        List<AutocompleteSkillRow> findAllRequiredSkillsForAutocomplete();
+
+        interface SearchIndexRow {
+                String getId();
+                Timestamp getPostedAt();
+                Long getSalary();
+                Long getCategoryId();
+                Long getLocationTypeId();
+                Long getEmploymentTypeId();
+                Long getWorkScheduleId();
+                Long getExperienceLevelId();
+                Long getEducationLevelId();
+        }
+
+        interface SearchIndexLanguageSkillRow {
+                String getVacancyId();
+                Long getLanguageSkillId();
+        }
 
+        interface AutocompleteRow {
+                String getId();
+                Long getCompanyId();
+                String getTitle();
+                String getCompanyName();
+                Long getViews();
+        }
 
+        interface AutocompleteSkillRow {
+                String getVacancyId();
+                String getSkill();
+        }
 }
\ No newline at end of file
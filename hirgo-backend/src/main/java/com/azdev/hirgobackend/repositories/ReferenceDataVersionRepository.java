@@ -0,0 +1,25 @@
+package com.azdev.hirgobackend.repositories;
+
+import com.azdev.hirgobackend.models.lookup.Lookup;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+/**
+ * The version of the lookups and categories, bumped by triggers on every write to either table
+ */
+public interface ReferenceDataVersionRepository extends Repository<Lookup, Long> {
+
+    @Query(value = """
+            SELECT version AS version, updated_at AS updatedAt
+            FROM reference_data_version
+            WHERE id = 1
+            """, nativeQuery = true)
+    Optional<VersionRow> findVersion();
+
+    interface VersionRow {
+        Long getVersion();
+        LocalDateTime getUpdatedAt();
+    }
+}
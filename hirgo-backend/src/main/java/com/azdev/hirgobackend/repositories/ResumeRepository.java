@@ -1,6 +1,7 @@
 package com.azdev.hirgobackend.repositories;
 
 import com.azdev.hirgobackend.models.resume.Resume;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,4 +13,6 @@ public interface ResumeRepository extends JpaRepository<Resume, Long> {
     List<Resume> findByUserId(UUID userId);
 
     Optional<Resume> findByIdAndUserId(Long id, UUID userId);
+
+    List<Resume> findByIdInAndUserId(Collection<Long> ids, UUID userId);
 }
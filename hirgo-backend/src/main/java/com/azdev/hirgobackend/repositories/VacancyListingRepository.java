@@ -0,0 +1,59 @@
+package com.azdev.hirgobackend.repositories;
+
+import com.azdev.hirgobackend.models.vacancy.Vacancy;
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes of the vacancy_listings read model. Rows are rebuilt in the database by the
+ * refresh_vacancy_listings function, which joins the vacancy with its company, category, lookups,
+ * language skills and view count once per write instead of once per read.
+ */
+public interface VacancyListingRepository extends Repository<Vacancy, String> {
+
+    /**
+     * Create or replace the listing rows of the given vacancies. Ids of vacancies deleted in the meantime
+     * are skipped.
+     *
+     * @return Number of rows written
+     */
+    @Transactional
+    @Query(value = "SELECT refresh_vacancy_listings(CAST(:vacancyIds AS varchar[]))", nativeQuery = true)
+    int refresh(@Param("vacancyIds") String[] vacancyIds);
+
+    /**
+     * Create or replace the listing rows of every vacancy of a company, after its name or logo changed
+     */
+    @Transactional
+    @Query(value = """
+            SELECT refresh_vacancy_listings(ARRAY(SELECT v.id FROM vacancies v WHERE v.company_id = :companyId))
+            """, nativeQuery = true)
+    int refreshCompany(@Param("companyId") Long companyId);
+
+    /**
+     * Vacancies that have no listing row yet, e.g. because their refresh failed
+     */
+    @Query(value = """
+            SELECT v.id
+            FROM vacancies v
+            LEFT JOIN vacancy_listings l ON l.id = v.id
+            WHERE l.id IS NULL
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findIdsWithoutListing(@Param("limit") int limit);
+
+    /**
+     * Listed vacancies after {@code afterId} in id order, for walking the whole table in batches
+     */
+    @Query(value = """
+            SELECT l.id
+            FROM vacancy_listings l
+            WHERE l.id > :afterId
+            ORDER BY l.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findIdsAfter(@Param("afterId") String afterId, @Param("limit") int limit);
+}
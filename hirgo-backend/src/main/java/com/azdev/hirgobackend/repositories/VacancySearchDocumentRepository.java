@@ -0,0 +1,59 @@
+package com.azdev.hirgobackend.repositories;
+
+import com.azdev.hirgobackend.models.vacancy.Vacancy;
+import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes of the vacancy_search_documents read model. The texts arrive already folded, see
+ * {@link com.azdev.hirgobackend.utils.SearchText}; the weights rank title matches first, then company
+ * name and skills, then responsibilities.
+ */
+public interface VacancySearchDocumentRepository extends Repository<Vacancy, String> {
+
+    /**
+     * Create or replace the search document of a vacancy. Vacancies deleted in the meantime are skipped.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO vacancy_search_documents (vacancy_id, company_id, document, updated_at)
+            SELECT v.id,
+                   v.company_id,
+                   setweight(to_tsvector('simple', :title), 'A')
+                       || setweight(to_tsvector('simple', :companyName), 'B')
+                       || setweight(to_tsvector('simple', :skills), 'B')
+                       || setweight(to_tsvector('simple', :responsibilities), 'C'),
+                   now()
+            FROM vacancies v
+            WHERE v.id = :vacancyId
+            ON CONFLICT (vacancy_id)
+            DO UPDATE SET company_id = EXCLUDED.company_id,
+                          document = EXCLUDED.document,
+                          updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void upsert(@Param("vacancyId") String vacancyId,
+                @Param("title") String title,
+                @Param("companyName") String companyName,
+                @Param("skills") String skills,
+                @Param("responsibilities") String responsibilities);
+
+    /**
+     * Vacancies that have no search document yet, e.g. written before the read model existed
+     */
+    @Query(value = """
+            SELECT v.id
+            FROM vacancies v
+            LEFT JOIN vacancy_search_documents d ON d.vacancy_id = v.id
+            WHERE d.vacancy_id IS NULL
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findIdsWithoutDocument(@Param("limit") int limit);
+
+    @Query(value = "SELECT v.id FROM vacancies v WHERE v.company_id = :companyId", nativeQuery = true)
+    List<String> findIdsByCompanyId(@Param("companyId") Long companyId);
+}
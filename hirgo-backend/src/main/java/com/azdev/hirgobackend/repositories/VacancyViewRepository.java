@@ -2,11 +2,12 @@ package com.azdev.hirgobackend.repositories;
 
 import com.azdev.hirgobackend.models.vacancy.VacancyView;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,12 +15,98 @@ public interface VacancyViewRepository extends JpaRepository<VacancyView, String
     
     Optional<VacancyView> findByVacancyId(String vacancyId);
     
-    @Modifying
+    /**
+     * Add view deltas for many vacancies in one statement.
+     * Ids of vacancies deleted in the meantime are skipped instead of failing the batch.
+     * The same statement logs unique views, counting each one not logged before as a view, copies the new
+     * totals into vacancy_listings and adds the views to the company rollups in company_stats and
+     * company_daily_views. Every write goes in key order, so concurrent flushes from other nodes lock rows
+     * in the same order and cannot deadlock.
+     * <p>
+     * Returns the unique views vacancy_view_logs holds once the statement commits, whether logged by it or
+     * earlier; views of deleted vacancies are left out.
+     *
+     * @param vacancyIds Vacancy IDs, unique within the call
+     * @param deltas Views to add, positionally matching vacancyIds
+     * @param viewedVacancyIds Vacancy IDs of unique views
+     * @param ipHashes Viewer hashes, positionally matching viewedVacancyIds; each pair unique within the call
+     */
+    @Transactional
     @Query(value = """
-            INSERT INTO vacancy_views (vacancy_id, view_count)
-            VALUES (:vacancyId, 1)
-            ON CONFLICT (vacancy_id)
-            DO UPDATE SET view_count = vacancy_views.view_count + 1
+            WITH logged AS (
+                INSERT INTO vacancy_view_logs (vacancy_id, ip_hash, viewed_at)
+                SELECT u.vacancy_id, u.ip_hash, now()
+                FROM unnest(CAST(:viewedVacancyIds AS varchar[]), CAST(:ipHashes AS varchar[])) AS u(vacancy_id, ip_hash)
+                JOIN vacancies v ON v.id = u.vacancy_id
+                ORDER BY u.vacancy_id, u.ip_hash
+                ON CONFLICT (vacancy_id, ip_hash) DO NOTHING
+                RETURNING vacancy_id, ip_hash
+            ),
+            deltas AS (
+                SELECT d.vacancy_id, SUM(d.delta) AS delta, v.company_id
+                FROM (
+                    SELECT vacancy_id, delta
+                    FROM unnest(CAST(:vacancyIds AS varchar[]), CAST(:deltas AS bigint[])) AS c(vacancy_id, delta)
+                    UNION ALL
+                    SELECT vacancy_id, 1
+                    FROM logged
+                ) d
+                JOIN vacancies v ON v.id = d.vacancy_id
+                GROUP BY d.vacancy_id, v.company_id
+            ),
+            counted AS (
+                INSERT INTO vacancy_views (vacancy_id, view_count)
+                SELECT vacancy_id, delta
+                FROM deltas
+                ORDER BY vacancy_id
+                ON CONFLICT (vacancy_id)
+                DO UPDATE SET view_count = vacancy_views.view_count + EXCLUDED.view_count
+                RETURNING vacancy_id, view_count
+            ),
+            listed AS (
+                UPDATE vacancy_listings l
+                SET view_count = c.view_count
+                FROM (SELECT vacancy_id, view_count FROM counted ORDER BY vacancy_id) c
+                WHERE l.id = c.vacancy_id
+            ),
+            company_deltas AS (
+                SELECT company_id, SUM(delta) AS delta
+                FROM deltas
+                GROUP BY company_id
+            ),
+            daily AS (
+                INSERT INTO company_daily_views (company_id, day, view_count)
+                SELECT company_id, CURRENT_DATE, delta
+                FROM company_deltas
+                ORDER BY company_id
+                ON CONFLICT (company_id, day)
+                DO UPDATE SET view_count = company_daily_views.view_count + EXCLUDED.view_count
+            ),
+            stats AS (
+                INSERT INTO company_stats (company_id, total_views, viewed_at, updated_at)
+                SELECT company_id, delta, now(), now()
+                FROM company_deltas
+                ORDER BY company_id
+                ON CONFLICT (company_id)
+                DO UPDATE SET total_views = company_stats.total_views + EXCLUDED.total_views,
+                              viewed_at = EXCLUDED.viewed_at,
+                              updated_at = EXCLUDED.updated_at
+            )
+            SELECT vacancy_id AS vacancyId, ip_hash AS ipHash
+            FROM logged
+            UNION
+            SELECT l.vacancy_id AS vacancyId, l.ip_hash AS ipHash
+            FROM vacancy_view_logs l
+            JOIN unnest(CAST(:viewedVacancyIds AS varchar[]), CAST(:ipHashes AS varchar[])) AS u(vacancy_id, ip_hash)
+              ON l.vacancy_id = u.vacancy_id AND l.ip_hash = u.ip_hash
             """, nativeQuery = true)
-    void incrementViewCount(@Param("vacancyId") String vacancyId);
-} 
\ No newline at end of file
+    List<LoggedView> incrementViewCounts(@Param("vacancyIds") String[] vacancyIds,
+                             @Param("deltas") Long[] deltas,
+                             @Param("viewedVacancyIds") String[] viewedVacancyIds,
+                             @Param("ipHashes") String[] ipHashes);
+
+    interface LoggedView {
+        String getVacancyId();
+        String getIpHash();
+    }
+}
@@ -0,0 +1,75 @@
+package com.azdev.hirgobackend.repositories;
+
+import com.azdev.hirgobackend.models.vacancy.VacancyViewSketch;
+import com.azdev.hirgobackend.models.vacancy.VacancyViewSketchId;
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface VacancyViewSketchRepository extends JpaRepository<VacancyViewSketch, VacancyViewSketchId> {
+
+    /**
+     * Merge sketches into their buckets in one statement, creating buckets as needed. Merging is idempotent,
+     * so a retried write never double counts. Buckets of vacancies deleted in the meantime are skipped, and
+     * rows are written in key order so concurrent flushes from other nodes cannot deadlock.
+     *
+     * @param vacancyIds Vacancy of each bucket; with bucketStarts unique within the call
+     * @param bucketStarts Start of each bucket, as {@link Timestamp#toString()}
+     * @param sketches Base64 of each sketch, see {@link com.azdev.hirgobackend.utils.HyperLogLog#toBytes()}
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO vacancy_view_sketches (vacancy_id, granularity, bucket_start, registers, updated_at)
+            SELECT s.vacancy_id, :granularity, s.bucket_start, decode(s.sketch, 'base64'), now()
+            FROM unnest(CAST(:vacancyIds AS varchar[]), CAST(:bucketStarts AS timestamp[]), CAST(:sketches AS text[]))
+                 AS s(vacancy_id, bucket_start, sketch)
+            JOIN vacancies v ON v.id = s.vacancy_id
+            ORDER BY s.vacancy_id, s.bucket_start
+            ON CONFLICT (vacancy_id, granularity, bucket_start)
+            DO UPDATE SET registers = hll_merge(vacancy_view_sketches.registers, EXCLUDED.registers),
+                          updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void mergeSketches(@Param("granularity") String granularity,
+                       @Param("vacancyIds") String[] vacancyIds,
+                       @Param("bucketStarts") String[] bucketStarts,
+                       @Param("sketches") String[] sketches);
+
+    @Query(value = """
+            SELECT s.registers
+            FROM vacancy_view_sketches s
+            WHERE s.vacancy_id = :vacancyId
+              AND s.granularity = :granularity
+              AND s.bucket_start >= :from
+              AND s.bucket_start < :to
+            """, nativeQuery = true)
+    List<byte[]> findRegisters(@Param("vacancyId") String vacancyId,
+                               @Param("granularity") String granularity,
+                               @Param("from") Timestamp from,
+                               @Param("to") Timestamp to);
+
+    @Query(value = """
+            SELECT s.registers
+            FROM vacancy_view_sketches s
+            JOIN vacancies v ON v.id = s.vacancy_id
+            WHERE v.company_id = :companyId
+              AND s.granularity = :granularity
+              AND s.bucket_start >= :from
+              AND s.bucket_start < :to
+            """, nativeQuery = true)
+    List<byte[]> findCompanyRegisters(@Param("companyId") Long companyId,
+                                      @Param("granularity") String granularity,
+                                      @Param("from") Timestamp from,
+                                      @Param("to") Timestamp to);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM vacancy_view_sketches WHERE granularity = :granularity AND bucket_start < :before", nativeQuery = true)
+    int deleteOlderThan(@Param("granularity") String granularity, @Param("before") Timestamp before);
+}
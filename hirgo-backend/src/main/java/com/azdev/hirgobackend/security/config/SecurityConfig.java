@@ -35,7 +35,7 @@ import org.springframework.security.web.SecurityFilterChain;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
-@EnableConfigurationProperties(RsaKeyProperties.class)
+@EnableConfigurationProperties({RsaKeyProperties.class, TokenRevocationProperties.class})
 public class SecurityConfig {
 
     private final RsaKeyProperties rsaKeys;
@@ -58,10 +58,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/categories","/api/v1/categories/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/jobseeker/**").permitAll()
-                        .requestMatchers(HttpMethod.POST, "/api/v1/jobseeker/vacancies/filter").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/jobseeker/vacancies/filter", "/api/v1/jobseeker/vacancies/search").permitAll()
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers("/v3/api-docs/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/v1/lookups**", "/api/v1/lookups/all**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/lookups**", "/api/v1/lookups/all**", "/api/v1/lookups/batch**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .cors(cors -> cors.configurationSource(request -> {
@@ -71,6 +71,8 @@ public class SecurityConfig {
                     source.addAllowedOrigin("https://fit2job.com");
                     source.addAllowedHeader("*"); // Allow all headers
                     source.addAllowedMethod("*"); // Allow all methods
+                    source.addExposedHeader("ETag"); // Lets the client revalidate with If-None-Match
+                    source.addExposedHeader("Retry-After");
                     return source;
                 }))
                 .oauth2ResourceServer(oauth2 -> oauth2
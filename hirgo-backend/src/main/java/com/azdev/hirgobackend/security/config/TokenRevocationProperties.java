@@ -0,0 +1,20 @@
+package com.azdev.hirgobackend.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for sharing token revocations between nodes through auth.invalidated_tokens
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.token-revocation")
+public class TokenRevocationProperties {
+    // How often locally recorded revocations are written in one batch
+    private long flushIntervalMs = 500;
+    // How often revocations written by other nodes are picked up
+    private long pollIntervalMs = 2000;
+    // Re-read window per poll, in database time; must cover the time between a row being recorded and committed
+    private long pollOverlapMs = 30000;
+}
@@ -38,8 +38,7 @@ public class BlacklistAwareJwtAuthenticationConverter implements Converter<Jwt,
     @Override
     public AbstractAuthenticationToken convert(Jwt jwt) {
         // Check if the token is blacklisted
-        String tokenValue = jwt.getTokenValue();
-        if (blacklistService.isBlacklisted(tokenValue)) {
+        if (blacklistService.isBlacklisted(jwt)) {
             String subject = jwt.getSubject();
             String tokenType = jwt.getClaimAsString("token_type");
             log.warn("Rejected blacklisted {} token for user: {}", tokenType, subject);
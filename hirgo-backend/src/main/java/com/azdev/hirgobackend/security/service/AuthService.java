@@ -158,7 +158,7 @@ public class AuthService {
             String username = jwt.getSubject();
             Instant expirationTime = jwt.getExpiresAt();
             long expiresAt = expirationTime != null ? expirationTime.toEpochMilli() : 0;
-            boolean isActive = !blacklistService.isBlacklisted(token) && Instant.now().toEpochMilli() < expiresAt;
+            boolean isActive = !blacklistService.isBlacklisted(jwt) && Instant.now().toEpochMilli() < expiresAt;
 
             return new IntrospectionResponse(isActive, username, "access_token", expiresAt);
         } catch (Exception e) {
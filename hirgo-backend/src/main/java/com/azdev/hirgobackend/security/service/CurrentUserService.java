@@ -36,6 +36,19 @@ public class CurrentUserService {
         
         return authentication.getName();
     }
+
+    /**
+     * Get the access token the current request was authenticated with
+     *
+     * @return The decoded token or null if not authenticated with a JWT
+     */
+    public Jwt getCurrentToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken) {
+            return ((JwtAuthenticationToken) authentication).getToken();
+        }
+        return null;
+    }
     
     /**
      * Get the role of the currently authenticated user
@@ -1,100 +1,243 @@
 package com.azdev.hirgobackend.security.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Queue;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
 /**
- * Service to manage blacklisted JWT tokens
+ * Service to manage blacklisted JWT tokens.
+ * Single tokens are identified by their jti claim held as a UUID (two longs), not by the compact JWT string,
+ * and each entry is evicted as soon as the token itself expires.
+ * "Logout everywhere" is a per-subject revocation epoch: any token issued at or before it is rejected.
+ * This is the in-memory near-cache; {@link TokenRevocationSync} persists local revocations and applies those of other nodes.
  */
 @Service
 public class TokenBlacklistService {
-    
+
     private static final Logger log = LogManager.getLogger(TokenBlacklistService.class);
-    
-    // Map to store blacklisted tokens with their expiry time
-    private final Map<String, Instant> blacklistedTokens = new ConcurrentHashMap<>();
-    
-    // Map to store user tokens by username
-    private final Map<String, Set<String>> userTokens = new ConcurrentHashMap<>();
-    
+
+    // Blacklisted token ids; the value is the same object that sits in the expiry queue
+    private final Map<UUID, Expiry> blacklistedTokens = new ConcurrentHashMap<>();
+
+    // Blacklist entries ordered by expiry, drained incrementally by evictExpiredTokens
+    private final DelayQueue<Expiry> expiryQueue = new DelayQueue<>();
+
+    // Per-subject revocation epoch in epoch seconds; tokens with an earlier or equal iat are revoked
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    // Revocations recorded on this node and not yet persisted
+    private final Queue<TokenRevocation> pendingWrites = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Identify a token by its jti claim.
+     * Tokens without a jti (issued before every token type carried one) fall back to a name-based UUID of the token value.
+     *
+     * @param jwt the decoded token
+     * @return the compact token id
+     */
+    public static UUID tokenId(Jwt jwt) {
+        String jti = jwt.getId();
+        if (jti == null) {
+            return UUID.nameUUIDFromBytes(jwt.getTokenValue().getBytes(StandardCharsets.UTF_8));
+        }
+        return tokenId(jti);
+    }
+
+    /**
+     * @param jti the jti claim value
+     * @return the jti as a UUID, or a name-based UUID of it if it is not one
+     */
+    public static UUID tokenId(String jti) {
+        try {
+            return UUID.fromString(jti);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(jti.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Add a token to the blacklist until it expires
+     *
+     * @param jwt the decoded token to blacklist
+     */
+    public void blacklistToken(Jwt jwt) {
+        blacklistToken(tokenId(jwt), jwt.getSubject(), jwt.getClaimAsString("token_type"), jwt.getExpiresAt());
+    }
+
     /**
      * Add a token to the blacklist with its expiry time
-     * 
-     * @param token the token to blacklist
+     *
+     * @param tokenId the token's jti
+     * @param subject the user the token was issued to
+     * @param tokenType the token_type claim of the token
      * @param expiryTime when the token expires
      */
-    public void blacklistToken(String token, Instant expiryTime) {
-        blacklistedTokens.put(token, expiryTime);
+    public void blacklistToken(UUID tokenId, String subject, String tokenType, Instant expiryTime) {
+        if (applyToken(tokenId, expiryTime)) {
+            pendingWrites.add(TokenRevocation.forToken(tokenId, subject, tokenType, expiryTime));
+        }
     }
-    
+
     /**
-     * Store a token for a specific user, so we can blacklist all their tokens on logout
-     * 
-     * @param username the user's username/email
-     * @param token the token to associate with this user
+     * Revoke every token issued to a user so far
+     *
+     * @param username the subject whose tokens should be revoked
      */
-    public void storeUserToken(String username, String token) {
-        userTokens.computeIfAbsent(username, k -> new ConcurrentSkipListSet<>()).add(token);
-        log.debug("Stored token for user {}", username);
+    public void blacklistAllUserTokens(String username) {
+        // iat has second precision, so a token issued within the current second is revoked too
+        Instant epoch = Instant.ofEpochSecond(Instant.now().getEpochSecond());
+        applySubjectEpoch(username, epoch.getEpochSecond());
+        pendingWrites.add(TokenRevocation.forSubject(username, epoch, epoch.plusSeconds(TokenService.REFRESH_TOKEN_EXPIRY)));
+        log.info("Revoked all tokens issued to user {} up to {}", username, epoch);
     }
-    
+
     /**
-     * Blacklist all tokens for a specific user
-     * 
-     * @param username the user whose tokens should be blacklisted
+     * Apply a revocation recorded elsewhere (another node, or this one before a restart) without persisting it again
+     *
+     * @param revocation the revocation to apply
      */
-    public void blacklistAllUserTokens(String username) {
-        Set<String> tokens = userTokens.get(username);
-        if (tokens != null) {
-            Instant now = Instant.now();
-            // Set expiry to 24 hours in the future to ensure they're blacklisted long enough
-            Instant expiryTime = now.plusSeconds(86400); 
-            
-            int tokenCount = 0;
-            for (String token : tokens) {
-                blacklistedTokens.put(token, expiryTime);
-                tokenCount++;
+    public void apply(TokenRevocation revocation) {
+        if (revocation.isSubjectWide()) {
+            if (revocation.subject() != null && revocation.revokedAt() != null) {
+                applySubjectEpoch(revocation.subject(), revocation.revokedAt().getEpochSecond());
             }
-            
-            log.info("Blacklisted {} tokens for user {}", tokenCount, username);
-            
-            // Clear the user's token set to free up memory
-            tokens.clear();
         } else {
-            log.info("No tokens found to blacklist for user {}", username);
+            applyToken(revocation.tokenId(), revocation.expiresAt());
         }
     }
-    
+
+    /**
+     * @return revocations recorded on this node since the last call, for persisting
+     */
+    public List<TokenRevocation> drainPendingWrites() {
+        List<TokenRevocation> drained = new ArrayList<>();
+        TokenRevocation revocation;
+        while ((revocation = pendingWrites.poll()) != null) {
+            drained.add(revocation);
+        }
+        return drained;
+    }
+
+    /**
+     * Put back revocations whose write failed, to be retried with the next batch
+     */
+    public void requeuePendingWrites(List<TokenRevocation> revocations) {
+        pendingWrites.addAll(revocations);
+    }
+
+    private boolean applyToken(UUID tokenId, Instant expiryTime) {
+        if (expiryTime == null || !expiryTime.isAfter(Instant.now())) {
+            // Already expired: the decoder rejects it without any help from the blacklist
+            return false;
+        }
+        Expiry entry = new Expiry(tokenId, expiryTime.toEpochMilli());
+        // Keep whichever entry lives longer; a superseded entry is skipped when it leaves the queue
+        Expiry current = blacklistedTokens.merge(tokenId, entry,
+                (existing, candidate) -> existing.expiresAtMillis >= candidate.expiresAtMillis ? existing : candidate);
+        if (current == entry) {
+            expiryQueue.add(entry);
+            return true;
+        }
+        return false;
+    }
+
+    private void applySubjectEpoch(String subject, long epochSecond) {
+        revokedBefore.merge(subject, epochSecond, Math::max);
+    }
+
     /**
      * Check if a token is blacklisted
-     * 
-     * @param token the token to check
+     *
+     * @param jwt the decoded token to check
      * @return true if the token is blacklisted, false otherwise
      */
-    public boolean isBlacklisted(String token) {
-        return blacklistedTokens.containsKey(token);
+    public boolean isBlacklisted(Jwt jwt) {
+        return isRevokedBySubject(jwt) || blacklistedTokens.containsKey(tokenId(jwt));
+    }
+
+    private boolean isRevokedBySubject(Jwt jwt) {
+        if (revokedBefore.isEmpty() || jwt.getSubject() == null) {
+            return false;
+        }
+        Long epoch = revokedBefore.get(jwt.getSubject());
+        if (epoch == null) {
+            return false;
+        }
+        Instant issuedAt = jwt.getIssuedAt();
+        return issuedAt == null || issuedAt.getEpochSecond() <= epoch;
+    }
+
+    /**
+     * Evict blacklist entries whose tokens have expired.
+     * Runs every second and only touches entries that are actually due.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void evictExpiredTokens() {
+        List<Expiry> expired = new ArrayList<>();
+        expiryQueue.drainTo(expired);
+        int evicted = 0;
+        for (Expiry entry : expired) {
+            if (blacklistedTokens.remove(entry.tokenId, entry)) {
+                evicted++;
+            }
+        }
+
+        if (evicted > 0) {
+            log.debug("Evicted {} expired tokens from blacklist", evicted);
+        }
     }
-    
+
     /**
-     * Scheduled task to clean up expired tokens from the blacklist
+     * Drop revocation epochs older than the longest token lifetime; every token they covered has expired
      * Runs every hour
      */
     @Scheduled(fixedRate = 3600000) // Run every hour
-    public void cleanupExpiredTokens() {
-        Instant now = Instant.now();
-        int countBefore = blacklistedTokens.size();
-        blacklistedTokens.entrySet().removeIf(entry -> entry.getValue().isBefore(now));
-        int countAfter = blacklistedTokens.size();
-        
-        if (countBefore != countAfter) {
-            log.info("Cleaned up {} expired tokens from blacklist", (countBefore - countAfter));
+    public void cleanupExpiredRevocations() {
+        long horizon = Instant.now().getEpochSecond() - TokenService.REFRESH_TOKEN_EXPIRY;
+        revokedBefore.entrySet().removeIf(entry -> entry.getValue() < horizon);
+    }
+
+    private static final class Expiry implements Delayed {
+        private final UUID tokenId;
+        private final long expiresAtMillis;
+
+        private Expiry(UUID tokenId, long expiresAtMillis) {
+            this.tokenId = tokenId;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((Expiry) other).expiresAtMillis);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Expiry other && tokenId.equals(other.tokenId) && expiresAtMillis == other.expiresAtMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return tokenId.hashCode() * 31 + Long.hashCode(expiresAtMillis);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package com.azdev.hirgobackend.security.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A revocation as shared between nodes: either one token by jti, or every token of a subject issued up to revokedAt
+ */
+public record TokenRevocation(UUID tokenId, String subject, String tokenType, Instant expiresAt, Instant revokedAt) {
+
+    // token_type stored for subject-wide revocations
+    public static final String ALL_TOKENS = "all_tokens";
+
+    public static TokenRevocation forToken(UUID tokenId, String subject, String tokenType, Instant expiresAt) {
+        return new TokenRevocation(tokenId, subject, tokenType, expiresAt, Instant.now());
+    }
+
+    public static TokenRevocation forSubject(String subject, Instant revokedAt, Instant expiresAt) {
+        return new TokenRevocation(null, subject, ALL_TOKENS, expiresAt, revokedAt);
+    }
+
+    public boolean isSubjectWide() {
+        return tokenId == null;
+    }
+}
@@ -0,0 +1,173 @@
+package com.azdev.hirgobackend.security.service;
+
+import com.azdev.hirgobackend.models.token.InvalidatedToken;
+import com.azdev.hirgobackend.repositories.InvalidatedTokenRepository;
+import com.azdev.hirgobackend.security.config.TokenRevocationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the in-memory blacklist in step with auth.invalidated_tokens.
+ * Local revocations are written in batches, revocations from other nodes are picked up by polling,
+ * and everything still in force is loaded at startup, so a restart does not un-revoke tokens.
+ * Token checks never wait on the database.
+ * Flush and poll run on a thread of their own, so slow scheduled jobs elsewhere cannot delay revocations.
+ */
+@Service
+public class TokenRevocationSync {
+
+    private static final Logger log = LogManager.getLogger(TokenRevocationSync.class);
+
+    private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final TokenBlacklistService blacklistService;
+    private final TokenRevocationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Latest recorded_at seen; a database time, never compared with this node's clock
+    private volatile Date lastRecordedAt;
+
+    public TokenRevocationSync(InvalidatedTokenRepository invalidatedTokenRepository,
+                               TokenBlacklistService blacklistService,
+                               TokenRevocationProperties properties,
+                               TransactionTemplate transactionTemplate) {
+        this.invalidatedTokenRepository = invalidatedTokenRepository;
+        this.blacklistService = blacklistService;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Load every revocation still in force before the node starts serving requests
+     */
+    @PostConstruct
+    public void loadRevocations() {
+        // Taken before the load, so anything recorded meanwhile is picked up by the first poll
+        lastRecordedAt = invalidatedTokenRepository.findLatestRecordedAt();
+        List<InvalidatedToken> rows = invalidatedTokenRepository.findByExpiryDateAfter(new Date());
+        int applied = applyAll(rows);
+        log.info("Loaded {} token revocations", applied);
+
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("token-revocation-");
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::flush, Duration.ofMillis(properties.getFlushIntervalMs()));
+        scheduler.scheduleWithFixedDelay(this::poll, Duration.ofMillis(properties.getPollIntervalMs()));
+    }
+
+    /**
+     * Write locally recorded revocations in a single transaction
+     */
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            writePending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        scheduler.shutdown();
+        flushLock.lock();
+        try {
+            writePending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Apply revocations recorded by any node since the latest one seen.
+     * Re-reading an overlap window covers rows recorded before, but committed after, that one;
+     * applying a revocation twice is harmless.
+     */
+    public void poll() {
+        Date since = new Date(lastRecordedAt.getTime() - properties.getPollOverlapMs());
+        try {
+            List<InvalidatedToken> rows = invalidatedTokenRepository.findByRecordedAtAfter(since);
+            applyAll(rows);
+            Date latest = lastRecordedAt;
+            for (InvalidatedToken row : rows) {
+                if (row.getRecordedAt() != null && row.getRecordedAt().after(latest)) {
+                    latest = row.getRecordedAt();
+                }
+            }
+            lastRecordedAt = latest;
+        } catch (Exception e) {
+            log.warn("Failed to poll token revocations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Scheduled task to clean up expired revocations from the database
+     * Runs every hour
+     */
+    @Scheduled(fixedRate = 3600000) // Run every hour
+    public void deleteExpiredRevocations() {
+        int deleted = invalidatedTokenRepository.deleteExpiredTokens(new Date());
+        if (deleted > 0) {
+            log.info("Deleted {} expired token revocations", deleted);
+        }
+    }
+
+    private void writePending() {
+        List<TokenRevocation> pending = blacklistService.drainPendingWrites();
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> pending.forEach(revocation ->
+                    invalidatedTokenRepository.insertIfAbsent(
+                            revocation.tokenId(),
+                            revocation.subject(),
+                            revocation.tokenType(),
+                            Date.from(revocation.expiresAt()),
+                            Date.from(revocation.revokedAt()))));
+            log.debug("Persisted {} token revocations", pending.size());
+        } catch (Exception e) {
+            log.error("Failed to persist {} token revocations, retrying: {}", pending.size(), e.getMessage());
+            blacklistService.requeuePendingWrites(pending);
+        }
+    }
+
+    private int applyAll(List<InvalidatedToken> rows) {
+        int applied = 0;
+        for (InvalidatedToken row : rows) {
+            TokenRevocation revocation = toRevocation(row);
+            if (revocation != null) {
+                blacklistService.apply(revocation);
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    private static TokenRevocation toRevocation(InvalidatedToken row) {
+        Instant expiresAt = row.getExpiryDate().toInstant();
+        Instant revokedAt = row.getInvalidatedAt().toInstant();
+        if (row.getJti() != null) {
+            return new TokenRevocation(row.getJti(), row.getSubject(), row.getTokenType(), expiresAt, revokedAt);
+        }
+        if (TokenRevocation.ALL_TOKENS.equals(row.getTokenType()) && row.getSubject() != null) {
+            return TokenRevocation.forSubject(row.getSubject(), revokedAt, expiresAt);
+        }
+        // Rows from before jti keys identify tokens by value only; nothing to apply
+        return null;
+    }
+}
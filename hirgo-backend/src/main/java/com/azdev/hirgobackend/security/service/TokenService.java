@@ -2,6 +2,8 @@ package com.azdev.hirgobackend.security.service;
 
 import com.azdev.hirgobackend.models.user.User;
 import com.azdev.hirgobackend.security.dto.TokenResponse;
+import com.nimbusds.jwt.JWTParser;
+import java.text.ParseException;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -30,7 +32,7 @@ public class TokenService {
     // Token expiry durations
     private static final long ACCESS_TOKEN_EXPIRY = 3600L; // 1 hour
 //    private static final long ACCESS_TOKEN_EXPIRY = 60L; // 1 minute
-    private static final long REFRESH_TOKEN_EXPIRY = 604800L; // 7 days
+    static final long REFRESH_TOKEN_EXPIRY = 604800L; // 7 days, the longest-lived token
     private static final long ID_TOKEN_EXPIRY = 3600L; // 1 hour
 
     public TokenService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder, TokenBlacklistService blacklistService, UserService userService) {
@@ -59,10 +61,11 @@ public class TokenService {
 
 
         // Generate access token
-        String accessToken = generateAccessToken(user, roles, now);
+        String accessTokenJti = UUID.randomUUID().toString();
+        String accessToken = generateAccessToken(user, roles, accessTokenJti, now);
 
         // Generate refresh token
-        String refreshToken = generateRefreshToken(user, accessToken, now);
+        String refreshToken = generateRefreshToken(user, accessTokenJti, now);
 
         // Generate ID token
         String idToken = generateIdToken(user, now);
@@ -89,10 +92,11 @@ public class TokenService {
         log.info("User roles 2: {}", roles);
 
         // Generate access token
-        String accessToken = generateAccessToken(user, roles, now);
+        String accessTokenJti = UUID.randomUUID().toString();
+        String accessToken = generateAccessToken(user, roles, accessTokenJti, now);
 
         // Generate refresh token
-        String refreshToken = generateRefreshToken(user, accessToken, now);
+        String refreshToken = generateRefreshToken(user, accessTokenJti, now);
 
         // Generate ID token
         String idToken = generateIdToken(user, now);
@@ -104,13 +108,13 @@ public class TokenService {
     /**
      * Generate an access token for a user
      */
-    private String generateAccessToken(User user, List<String> roles, Instant now) {
-        String accessTokenJti = UUID.randomUUID().toString();
+    private String generateAccessToken(User user, List<String> roles, String accessTokenJti, Instant now) {
         String userId = user.getId().toString();
+        Instant expiresAt = now.plusSeconds(ACCESS_TOKEN_EXPIRY);
         JwtClaimsSet accessTokenClaims = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
-                .expiresAt(now.plusSeconds(ACCESS_TOKEN_EXPIRY))
+                .expiresAt(expiresAt)
                 .subject(userId)
                 .claim("roles", roles)
                 .claim("token_type", "access_token")
@@ -118,35 +122,27 @@ public class TokenService {
                 .claim("profileId", user.getProfileId())
                 .build();
 
-        String accessToken = jwtEncoder.encode(JwtEncoderParameters.from(accessTokenClaims)).getTokenValue();
-
-        // Store the access token for this user
-        blacklistService.storeUserToken(userId, accessToken);
-
-        return accessToken;
+        return jwtEncoder.encode(JwtEncoderParameters.from(accessTokenClaims)).getTokenValue();
     }
 
     /**
      * Generate a refresh token for a user with reference to the access token
      */
-    private String generateRefreshToken(User user, String accessToken, Instant now) {
+    private String generateRefreshToken(User user, String accessTokenJti, Instant now) {
         String userId = user.getId().toString();
+        String refreshTokenJti = UUID.randomUUID().toString();
+        Instant expiresAt = now.plusSeconds(REFRESH_TOKEN_EXPIRY);
         JwtClaimsSet refreshTokenClaims = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
-                .expiresAt(now.plusSeconds(REFRESH_TOKEN_EXPIRY))
+                .expiresAt(expiresAt)
                 .subject(userId)
                 .claim("token_type", "refresh_token")
-                .claim("jti", UUID.randomUUID().toString())
-                .claim("associated_access_token", accessToken) // Store reference to the access token
+                .claim("jti", refreshTokenJti)
+                .claim("associated_access_jti", accessTokenJti) // Store reference to the access token
                 .build();
 
-        String refreshToken = jwtEncoder.encode(JwtEncoderParameters.from(refreshTokenClaims)).getTokenValue();
-
-        // Store the refresh token for this user
-        blacklistService.storeUserToken(userId, refreshToken);
-
-        return refreshToken;
+        return jwtEncoder.encode(JwtEncoderParameters.from(refreshTokenClaims)).getTokenValue();
     }
 
     /**
@@ -154,24 +150,22 @@ public class TokenService {
      */
     private String generateIdToken(User user, Instant now) {
         String userId = user.getId().toString();
+        String idTokenJti = UUID.randomUUID().toString();
+        Instant expiresAt = now.plusSeconds(ID_TOKEN_EXPIRY);
         JwtClaimsSet idTokenClaims = JwtClaimsSet.builder()
                 .issuer("self")
                 .issuedAt(now)
-                .expiresAt(now.plusSeconds(ID_TOKEN_EXPIRY))
+                .expiresAt(expiresAt)
                 .subject(userId)
                 .claim("token_type", "id_token")
+                .claim("jti", idTokenJti)
                 .claim("email", user.getEmail())
                 .claim("name", user.getUsername())
                 .claim("auth_time", now.getEpochSecond())
                 .claim("profileId", user.getProfileId())
                 .build();
 
-        String idToken = jwtEncoder.encode(JwtEncoderParameters.from(idTokenClaims)).getTokenValue();
-
-        // Store the ID token for this user
-        blacklistService.storeUserToken(userId, idToken);
-
-        return idToken;
+        return jwtEncoder.encode(JwtEncoderParameters.from(idTokenClaims)).getTokenValue();
     }
 
     /**
@@ -193,9 +187,14 @@ public class TokenService {
             }
 
             // Blacklist the old access token if it exists
-            String associatedAccessToken = jwt.getClaimAsString("associated_access_token");
-            if (associatedAccessToken != null) {
-                blacklistService.blacklistToken(associatedAccessToken, jwt.getExpiresAt());
+            String associatedAccessJti = getAssociatedAccessJti(jwt);
+            if (associatedAccessJti != null) {
+                // The access token was issued together with this refresh token, so it lives no longer than this
+                Instant accessExpiresAt = jwt.getIssuedAt() != null
+                        ? jwt.getIssuedAt().plusSeconds(ACCESS_TOKEN_EXPIRY)
+                        : jwt.getExpiresAt();
+                blacklistService.blacklistToken(TokenBlacklistService.tokenId(associatedAccessJti),
+                        jwt.getSubject(), "access_token", accessExpiresAt);
                 log.info("Blacklisted access token during refresh");
             }
 
@@ -207,7 +206,7 @@ public class TokenService {
             TokenResponse newTokens = generateTokens(user);
 
             // Blacklist the old refresh token
-            blacklistService.blacklistToken(refreshToken, jwt.getExpiresAt());
+            blacklistService.blacklistToken(jwt);
             log.info("Blacklisted old refresh token during refresh for user: {}", id);
 
             return newTokens;
@@ -223,7 +222,7 @@ public class TokenService {
     public void blacklistToken(String token) {
         try {
             org.springframework.security.oauth2.jwt.Jwt jwt = jwtDecoder.decode(token);
-            blacklistService.blacklistToken(token, jwt.getExpiresAt());
+            blacklistService.blacklistToken(jwt);
             log.info("Token blacklisted: {}", jwt.getClaimAsString("token_type"));
         } catch (Exception e) {
             log.warn("Failed to blacklist token: {}", e.getMessage());
@@ -231,6 +230,28 @@ public class TokenService {
         }
     }
 
+    /**
+     * Read the jti of the access token issued with a refresh token.
+     * Refresh tokens issued before associated_access_jti existed embed the whole access token instead;
+     * it was signed as part of the refresh token, so its claims are read without verifying it again.
+     */
+    private String getAssociatedAccessJti(org.springframework.security.oauth2.jwt.Jwt refreshJwt) {
+        String accessJti = refreshJwt.getClaimAsString("associated_access_jti");
+        if (accessJti != null) {
+            return accessJti;
+        }
+        String legacyAccessToken = refreshJwt.getClaimAsString("associated_access_token");
+        if (legacyAccessToken == null) {
+            return null;
+        }
+        try {
+            return JWTParser.parse(legacyAccessToken).getJWTClaimsSet().getJWTID();
+        } catch (ParseException e) {
+            log.warn("Could not read associated access token: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Blacklist all tokens for a user
      */
@@ -1,9 +1,12 @@
 package com.azdev.hirgobackend.services.abstracts;
 
 import com.azdev.hirgobackend.dtos.dashboard.DashboardDtos.DashboardResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface DashboardService {
     DashboardResponse getCompanyDashboard();
+
+    SseEmitter streamCompanyDashboard();
 }
 
 
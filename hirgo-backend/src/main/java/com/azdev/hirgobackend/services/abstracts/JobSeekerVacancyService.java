@@ -1,10 +1,15 @@
 package com.azdev.hirgobackend.services.abstracts;
 
+import com.azdev.hirgobackend.dtos.common.response.CursorPage;
+import com.azdev.hirgobackend.dtos.common.response.FacetedPage;
 import com.azdev.hirgobackend.dtos.vacancy.request.JobSeekerVacancyFilterRequest;
 import com.azdev.hirgobackend.dtos.vacancy.request.VacancyFilterRequest;
+import com.azdev.hirgobackend.dtos.vacancy.request.VacancySearchRequest;
 import com.azdev.hirgobackend.dtos.vacancy.response.company.VacancyResponse;
+import com.azdev.hirgobackend.dtos.vacancy.response.jobseeker.AutocompleteSuggestionResponse;
 import com.azdev.hirgobackend.dtos.vacancy.response.jobseeker.JobSeekerVacancyDetailsResponse;
 import com.azdev.hirgobackend.dtos.vacancy.response.jobseeker.JobSeekerVacancyTableResponse;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -14,4 +19,14 @@ public interface JobSeekerVacancyService {
     Page<JobSeekerVacancyTableResponse> getAllVacanciesForTable(Pageable pageable);
 
     Page<JobSeekerVacancyTableResponse> getAllVacanciesByFilter(JobSeekerVacancyFilterRequest filter, Pageable pageable);
+
+    FacetedPage<JobSeekerVacancyTableResponse> getAllVacanciesByFilterWithFacets(JobSeekerVacancyFilterRequest filter, Pageable pageable);
+
+    CursorPage<JobSeekerVacancyTableResponse> getAllVacanciesForTable(String cursor, int size);
+
+    CursorPage<JobSeekerVacancyTableResponse> getAllVacanciesByFilter(JobSeekerVacancyFilterRequest filter, String cursor, int size);
+
+    Page<JobSeekerVacancyTableResponse> searchVacancies(VacancySearchRequest request, Pageable pageable);
+
+    List<AutocompleteSuggestionResponse> autocomplete(String prefix, int limit);
 }
\ No newline at end of file
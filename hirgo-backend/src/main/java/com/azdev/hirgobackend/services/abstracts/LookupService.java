@@ -1,5 +1,6 @@
 package com.azdev.hirgobackend.services.abstracts;
 
+import com.azdev.hirgobackend.dtos.lookup.LookupBatchResponse;
 import com.azdev.hirgobackend.dtos.lookup.LookupResponse;
 import java.util.List;
 import org.springframework.stereotype.Service;
@@ -8,4 +9,5 @@ public interface LookupService {
     LookupResponse lookup(Long id);
     LookupResponse lookup(Long id, String type);
     List<LookupResponse> lookupAllByType(String type);
+    LookupBatchResponse lookupBatch(List<Long> ids, List<String> types);
 }
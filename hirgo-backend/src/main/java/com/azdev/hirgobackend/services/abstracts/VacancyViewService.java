@@ -3,6 +3,7 @@ package com.azdev.hirgobackend.services.abstracts;
 import com.azdev.hirgobackend.models.vacancy.VacancyView;
 import com.azdev.hirgobackend.models.vacancy.VacancyViewLog;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface VacancyViewService {
@@ -22,14 +23,6 @@ public interface VacancyViewService {
      */
     void incrementUniqueViewCountAsync(String vacancyId, String ipAddress);
     
-    /**
-     * Log that an IP address has viewed a vacancy
-     * 
-     * @param vacancyId The ID of the vacancy
-     * @param ipAddress The IP address of the viewer
-     * @return True if this is a new view from this IP, false if already viewed
-     */
-    boolean logViewFromIp(String vacancyId, String ipAddress);
     
     /**
      * Get the view count for a vacancy
@@ -55,4 +48,28 @@ public interface VacancyViewService {
      * @return Optional containing the VacancyViewLog if found
      */
     Optional<VacancyViewLog> getViewLogByIpAndVacancy(String vacancyId, String ipAddress);
-} 
\ No newline at end of file
+
+    /**
+     * Estimate the number of distinct viewers of a vacancy in a time range.
+     * HyperLogLog estimate with a standard error of about 2.3%; the range is widened to whole hours,
+     * and to whole days where hourly buckets are past retention. Views from the last flush interval are not included yet.
+     *
+     * @param vacancyId The ID of the vacancy
+     * @param from Start of the range, inclusive
+     * @param to End of the range, exclusive
+     * @return The estimated number of unique viewers
+     */
+    long estimateUniqueViewers(String vacancyId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Estimate the number of distinct viewers across all vacancies of a company in a time range.
+     * A viewer of several of the company's vacancies is counted once. Same error bound as
+     * {@link #estimateUniqueViewers(String, LocalDateTime, LocalDateTime)}.
+     *
+     * @param companyId The ID of the company
+     * @param from Start of the range, inclusive
+     * @param to End of the range, exclusive
+     * @return The estimated number of unique viewers
+     */
+    long estimateUniqueViewersForCompany(Long companyId, LocalDateTime from, LocalDateTime to);
+}
@@ -10,6 +10,7 @@ import com.azdev.hirgobackend.repositories.CompanyRepository;
 import com.azdev.hirgobackend.services.abstracts.CompanyService;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import java.util.List;
+import java.util.Objects;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -23,6 +24,9 @@ public class CompanyServiceImpl implements CompanyService {
     CompanyRepository companyRepository;
     CompanyMapper companyMapper;
     JPAQueryFactory context;
+    VacancyListingService vacancyListingService;
+    VacancySearchDocumentService vacancySearchDocumentService;
+    VacancyAutocompleteService vacancyAutocompleteService;
 
 
     @Override
@@ -54,9 +58,20 @@ public class CompanyServiceImpl implements CompanyService {
     @Override
     public CompanyResponse updateCompany(Long id, UpdateCompanyRequest company) {
         Company oldCompany = companyRepository.findById(id).orElseThrow(() -> new CompanyNotFound(id));
+        String previousName = oldCompany.getName();
+        String previousLogo = oldCompany.getLogo();
         companyMapper.updateCompanyRequestToEntity(oldCompany, company);
 
         companyRepository.save(oldCompany);
+        // Vacancy listings carry a copy of the company's name and logo
+        if (!Objects.equals(previousName, oldCompany.getName()) || !Objects.equals(previousLogo, oldCompany.getLogo())) {
+            vacancyListingService.refreshCompany(id);
+        }
+        // Company names are part of the vacancies' search documents and autocomplete suggestions
+        if (!Objects.equals(previousName, oldCompany.getName())) {
+            vacancySearchDocumentService.refreshCompany(id);
+            vacancyAutocompleteService.companyChanged(id);
+        }
 
         return companyMapper.toResponse(oldCompany);
     }
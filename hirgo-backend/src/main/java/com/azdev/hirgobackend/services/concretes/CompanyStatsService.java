@@ -0,0 +1,103 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.CompanyStatsProperties;
+import com.azdev.hirgobackend.config.VacancyViewProperties;
+import com.azdev.hirgobackend.repositories.CompanyStatsRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps company_stats, the per-company rollup the dashboard reads, up to date. Vacancy writes recount
+ * their company's vacancies and view count flushes add to the view totals as they happen; the scheduled
+ * jobs here cover what no write triggers: deadlines passing, unique viewer estimates and nightly drift.
+ */
+@Slf4j
+@Service
+public class CompanyStatsService {
+
+    private final CompanyStatsRepository companyStatsRepository;
+    private final VacancyViewSketchStore vacancyViewSketchStore;
+    private final CompanyStatsProperties properties;
+    private final long sketchLagMs;
+
+    public CompanyStatsService(CompanyStatsRepository companyStatsRepository,
+                               VacancyViewSketchStore vacancyViewSketchStore,
+                               CompanyStatsProperties properties,
+                               VacancyViewProperties viewProperties) {
+        this.companyStatsRepository = companyStatsRepository;
+        this.vacancyViewSketchStore = vacancyViewSketchStore;
+        this.properties = properties;
+        this.sketchLagMs = viewProperties.getSketch().getFlushIntervalMs();
+    }
+
+    /**
+     * Recount the vacancies of a company after one of them was created, updated or deleted. A failure is
+     * logged and left to the nightly reconcile, so it never fails the write itself.
+     */
+    public void vacancyChanged(Long companyId) {
+        if (companyId == null) {
+            return;
+        }
+        try {
+            companyStatsRepository.refreshVacancyCounts(companyId);
+        } catch (Exception e) {
+            log.warn("Failed to refresh stats of company {}: {}", companyId, e.getMessage());
+        }
+    }
+
+    /**
+     * Move vacancies whose application deadline has passed from active to expired
+     */
+    @Scheduled(fixedDelayString = "${company.stats.expiry-interval-ms:60000}")
+    public void expireVacancies() {
+        try {
+            int companies = companyStatsRepository.expireVacancies();
+            if (companies > 0) {
+                log.debug("Expired vacancies of {} companies", companies);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to expire vacancies in company stats: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Re-estimate unique viewers of the companies viewed since their last estimate
+     */
+    @Scheduled(fixedDelayString = "${company.stats.unique-viewers-interval-ms:300000}")
+    public void refreshUniqueViewers() {
+        List<Long> companyIds;
+        try {
+            companyIds = companyStatsRepository.findCompaniesWithStaleUniqueViewers(sketchLagMs,
+                    properties.getUniqueViewersBatchSize());
+        } catch (Exception e) {
+            log.warn("Failed to find companies with stale unique viewers: {}", e.getMessage());
+            return;
+        }
+        for (Long companyId : companyIds) {
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                long uniqueViewers = vacancyViewSketchStore.estimateForCompany(companyId,
+                        now.minusDays(properties.getUniqueViewersDays()), now);
+                companyStatsRepository.updateUniqueViewers(companyId, uniqueViewers, now);
+            } catch (Exception e) {
+                log.warn("Failed to refresh unique viewers of company {}: {}", companyId, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${company.stats.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        try {
+            int companies = companyStatsRepository.reconcileVacancyCounts();
+            // The dashboard sums the trailing week; today is the eighth day kept
+            int days = companyStatsRepository.deleteDailyViewsBefore(LocalDate.now().minusDays(7));
+            log.info("Reconciled stats of {} companies and deleted {} daily view rows", companies, days);
+        } catch (Exception e) {
+            log.warn("Failed to reconcile company stats: {}", e.getMessage());
+        }
+    }
+}
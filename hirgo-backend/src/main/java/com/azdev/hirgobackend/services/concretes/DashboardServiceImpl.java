@@ -4,65 +4,76 @@ import com.azdev.hirgobackend.dtos.dashboard.DashboardDtos.DashboardResponse;
 import com.azdev.hirgobackend.dtos.dashboard.DashboardDtos.Metrics;
 import com.azdev.hirgobackend.dtos.dashboard.DashboardDtos.RecentApplicant;
 import com.azdev.hirgobackend.dtos.dashboard.DashboardDtos.RecentVacancy;
-import com.azdev.hirgobackend.models.applicant.Applicant;
-import com.azdev.hirgobackend.models.vacancy.Vacancy;
-import com.azdev.hirgobackend.repositories.ApplicantRepository;
-import com.azdev.hirgobackend.repositories.VacancyRepository;
+import com.azdev.hirgobackend.repositories.DashboardRepository;
+import com.azdev.hirgobackend.repositories.DashboardRepository.CompanyDashboardRow;
 import com.azdev.hirgobackend.security.service.CurrentUserService;
 import com.azdev.hirgobackend.services.abstracts.DashboardService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
-    private final VacancyRepository vacancyRepository;
-    private final ApplicantRepository applicantRepository;
+    private final DashboardRepository dashboardRepository;
     private final CurrentUserService currentUserService;
+    private final ObjectMapper objectMapper;
+    private final DashboardStreamService dashboardStreamService;
 
     @Override
     public DashboardResponse getCompanyDashboard() {
         Long companyId = currentUserService.getCurrentCompanyId();
+        LocalDateTime now = LocalDateTime.now();
 
-        long totalVacancies = vacancyRepository.countByCompanyId(companyId);
-        long activeVacancies = vacancyRepository.countByCompanyIdAndApplicationDeadlineAfter(companyId, LocalDateTime.now());
-
-        long totalApplicants = applicantRepository.count();
-        long newApplicants = applicantRepository.countByCreatedAtAfter(LocalDateTime.now().minusDays(7));
+        CompanyDashboardRow row = dashboardRepository.getCompanyDashboard(companyId, now, now.minusDays(7));
 
         Metrics metrics = new Metrics(
-                totalVacancies,
-                activeVacancies,
-                totalApplicants,
-                newApplicants
+                row.getTotalVacancies(),
+                row.getActiveVacancies(),
+                row.getTotalApplicants(),
+                row.getNewApplicants(),
+                row.getTotalViews(),
+                row.getUniqueViewers(),
+                row.getViewsLast7Days()
         );
 
-        List<RecentApplicant> recentApplicants = applicantRepository.findTop10ByOrderByCreatedAtDesc()
-                .stream()
-                .map(a -> new RecentApplicant(
-                        a.getId(),
-                        a.getFirstName() + " " + a.getLastName(),
-                        a.getEmail(),
-                        a.getCreatedAt()
-                ))
-                .collect(Collectors.toList());
+        List<RecentApplicant> recentApplicants = readList(row.getRecentApplicants(), RecentApplicant.class);
 
-        List<Vacancy> latestVacancies = vacancyRepository.findTop10ByCompanyIdOrderByPostedAtDesc(companyId);
-        List<RecentVacancy> vacancyOverview = latestVacancies.stream()
+        // Applications are not linked to vacancies yet, so the applicant count stays 0
+        List<RecentVacancy> vacancyOverview = readList(row.getRecentVacancies(), VacancyRow.class)
+                .stream()
                 .map(v -> new RecentVacancy(
-                        v.getId(),
-                        v.getTitle(),
+                        v.id(),
+                        v.title(),
                         0L,
-                        v.getApplicationDeadline() != null && v.getApplicationDeadline().isAfter(LocalDateTime.now()) ? "Active" : "Draft"
+                        v.views(),
+                        v.applicationDeadline() != null && v.applicationDeadline().isAfter(now) ? "Active" : "Draft"
                 ))
                 .collect(Collectors.toList());
 
         return new DashboardResponse(metrics, recentApplicants, vacancyOverview);
     }
-}
 
+    @Override
+    public SseEmitter streamCompanyDashboard() {
+        return dashboardStreamService.subscribe(currentUserService.getCurrentCompanyId(),
+                currentUserService.getCurrentToken());
+    }
+
+    private <T> List<T> readList(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, objectMapper.getTypeFactory().constructCollectionType(List.class, type));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed dashboard query result", e);
+        }
+    }
 
+    private record VacancyRow(String id, String title, LocalDateTime applicationDeadline, long views) {
+    }
+}
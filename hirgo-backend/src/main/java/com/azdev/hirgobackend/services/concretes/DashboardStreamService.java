@@ -0,0 +1,199 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.DashboardStreamProperties;
+import com.azdev.hirgobackend.dtos.dashboard.DashboardDtos.Metrics;
+import com.azdev.hirgobackend.dtos.dashboard.DashboardDtos.MetricsDelta;
+import com.azdev.hirgobackend.exceptions.domain.dashboard.DashboardStreamLimitReachedException;
+import com.azdev.hirgobackend.repositories.DashboardRepository;
+import com.azdev.hirgobackend.repositories.DashboardRepository.CompanyMetricsRow;
+import com.azdev.hirgobackend.security.service.TokenBlacklistService;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes dashboard metric changes to companies with the dashboard open. A connection starts with a
+ * {@code snapshot} event of the metrics; every push interval the metrics of all connected companies are read
+ * in one query and each connection is sent a {@code delta} event of what changed since its last event, so a
+ * burst of views becomes one event. Connections hold no request thread, and sends run on virtual threads so a
+ * slow client only delays itself. A stream outlives the request that opened it, so each push first checks the
+ * token it was opened with and ends the stream once that token is revoked or expired.
+ */
+@Slf4j
+@Service
+public class DashboardStreamService {
+
+    private final DashboardRepository dashboardRepository;
+    private final DashboardStreamProperties properties;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DashboardStreamService(DashboardRepository dashboardRepository, DashboardStreamProperties properties,
+                                  TokenBlacklistService tokenBlacklistService) {
+        this.dashboardRepository = dashboardRepository;
+        this.properties = properties;
+        this.tokenBlacklistService = tokenBlacklistService;
+    }
+
+    /**
+     * Open a stream of the company's dashboard metrics
+     *
+     * @param token The access token the stream was opened with; the stream ends when it is revoked or expires
+     * @throws DashboardStreamLimitReachedException If the company already has the maximum number of streams open
+     */
+    public SseEmitter subscribe(Long companyId, Jwt token) {
+        Connection connection = new Connection(new SseEmitter(properties.getTimeoutMs()), token, loadMetrics(companyId));
+        // Held until the snapshot is out, so no delta can overtake it
+        connection.sending.set(true);
+        connections.compute(companyId, (id, existing) -> {
+            Set<Connection> open = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            if (open.size() >= properties.getMaxConnectionsPerCompany()) {
+                throw new DashboardStreamLimitReachedException(properties.getMaxConnectionsPerCompany());
+            }
+            open.add(connection);
+            return open;
+        });
+
+        SseEmitter emitter = connection.emitter;
+        emitter.onCompletion(() -> remove(companyId, connection));
+        emitter.onTimeout(() -> remove(companyId, connection));
+        emitter.onError(e -> remove(companyId, connection));
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(connection.sent));
+        } catch (IOException e) {
+            remove(companyId, connection);
+            emitter.completeWithError(e);
+        } finally {
+            connection.sending.set(false);
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stream.push-interval-ms:2000}")
+    public void push() {
+        if (connections.isEmpty()) {
+            return;
+        }
+        Map<Long, Metrics> metrics;
+        try {
+            metrics = loadMetrics(Set.copyOf(connections.keySet()));
+        } catch (Exception e) {
+            log.warn("Failed to load metrics of live dashboards: {}", e.getMessage());
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        connections.forEach((companyId, open) -> {
+            Metrics current = metrics.get(companyId);
+            for (Connection connection : open) {
+                // A connection still sending its previous event is caught up on the next push
+                if (connection.sending.compareAndSet(false, true)) {
+                    sender.execute(() -> send(companyId, connection, current, now));
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        connections.values().forEach(open -> open.forEach(connection -> connection.emitter.complete()));
+        connections.clear();
+    }
+
+    private void send(Long companyId, Connection connection, Metrics current, long now) {
+        try {
+            if (isRevoked(connection.token, now)) {
+                remove(companyId, connection);
+                connection.emitter.complete();
+                return;
+            }
+            if (current == null) {
+                return;
+            }
+            MetricsDelta delta = MetricsDelta.between(connection.sent, current);
+            if (!delta.isEmpty()) {
+                connection.emitter.send(SseEmitter.event().name("delta").data(delta));
+                connection.sent = current;
+                connection.sentAt = now;
+            } else if (now - connection.sentAt >= properties.getHeartbeatIntervalMs()) {
+                connection.emitter.send(SseEmitter.event().comment("heartbeat"));
+                connection.sentAt = now;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed
+            remove(companyId, connection);
+            connection.emitter.completeWithError(e);
+        } finally {
+            connection.sending.set(false);
+        }
+    }
+
+    private boolean isRevoked(Jwt token, long now) {
+        if (token == null) {
+            return false;
+        }
+        Instant expiresAt = token.getExpiresAt();
+        return (expiresAt != null && expiresAt.toEpochMilli() <= now) || tokenBlacklistService.isBlacklisted(token);
+    }
+
+    private void remove(Long companyId, Connection connection) {
+        connections.computeIfPresent(companyId, (id, open) -> {
+            open.remove(connection);
+            return open.isEmpty() ? null : open;
+        });
+    }
+
+    private Metrics loadMetrics(Long companyId) {
+        Metrics metrics = loadMetrics(Set.of(companyId)).get(companyId);
+        return metrics != null ? metrics : new Metrics(0, 0, 0, 0, 0, 0, 0);
+    }
+
+    private Map<Long, Metrics> loadMetrics(Set<Long> companyIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<CompanyMetricsRow> rows = dashboardRepository.getCompanyMetrics(companyIds, now, now.minusDays(7));
+        Map<Long, Metrics> metrics = new HashMap<>(rows.size());
+        for (CompanyMetricsRow row : rows) {
+            metrics.put(row.getCompanyId(), new Metrics(
+                    row.getTotalVacancies(),
+                    row.getActiveVacancies(),
+                    row.getTotalApplicants(),
+                    row.getNewApplicants(),
+                    row.getTotalViews(),
+                    row.getUniqueViewers(),
+                    row.getViewsLast7Days()
+            ));
+        }
+        return metrics;
+    }
+
+    private static final class Connection {
+        private final SseEmitter emitter;
+        private final Jwt token;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // The metrics as of the last event sent, which the next delta is taken from
+        private volatile Metrics sent;
+        private volatile long sentAt = System.currentTimeMillis();
+
+        private Connection(SseEmitter emitter, Jwt token, Metrics sent) {
+            this.emitter = emitter;
+            this.token = token;
+            this.sent = sent;
+        }
+    }
+}
@@ -1,23 +1,43 @@
 package com.azdev.hirgobackend.services.concretes;
 
+import com.azdev.hirgobackend.dtos.common.response.CursorPage;
+import com.azdev.hirgobackend.dtos.common.response.FacetedPage;
 import com.azdev.hirgobackend.dtos.vacancy.request.JobSeekerVacancyFilterRequest;
+import com.azdev.hirgobackend.dtos.vacancy.request.VacancyCursor;
+import com.azdev.hirgobackend.dtos.vacancy.request.VacancySearchRequest;
+import com.azdev.hirgobackend.dtos.vacancy.response.jobseeker.AutocompleteSuggestionResponse;
 import com.azdev.hirgobackend.dtos.vacancy.response.jobseeker.JobSeekerVacancyDetailsResponse;
 import com.azdev.hirgobackend.dtos.vacancy.response.jobseeker.JobSeekerVacancyTableResponse;
+import com.azdev.hirgobackend.enums.VacancyFacet;
 import com.azdev.hirgobackend.repositories.JobSeekerVacancyRepository;
 import com.azdev.hirgobackend.services.abstracts.JobSeekerVacancyService;
 import com.azdev.hirgobackend.services.abstracts.VacancyViewService;
 import com.azdev.hirgobackend.utils.IpHashUtils;
 import com.azdev.hirgobackend.utils.RequestUtils;
+import com.azdev.hirgobackend.utils.SearchText;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -28,8 +48,19 @@ public class JobSeekerVacancyServiceImpl implements JobSeekerVacancyService {
 
     JobSeekerVacancyRepository jobSeekerVacancyRepository;
     VacancyViewService vacancyViewService;
+    VacancySearchIndex vacancySearchIndex;
+    VacancyAutocompleteService vacancyAutocompleteService;
+    PageCountService pageCountService;
     HttpServletRequest request;
 
+    private static final JobSeekerVacancyFilterRequest NO_FILTER =
+            new JobSeekerVacancyFilterRequest(null, null, null, null, null, null, null, null, null, null);
+
+    // Endpoint keys under pagination.count
+    private static final String LISTING_COUNT = "vacancies";
+    private static final String FILTER_COUNT = "vacancy-filter";
+    private static final String SEARCH_COUNT = "vacancy-search";
+
     @Override
     public JobSeekerVacancyDetailsResponse getVacancyByIdForDetails(String id) {
         JobSeekerVacancyDetailsResponse response = jobSeekerVacancyRepository.getVacancyDetailsById(id)
@@ -52,7 +83,12 @@ public class JobSeekerVacancyServiceImpl implements JobSeekerVacancyService {
 
     @Override
     public Page<JobSeekerVacancyTableResponse> getAllVacanciesForTable(Pageable pageable) {
-        return jobSeekerVacancyRepository.getAllVacanciesForTable(pageable);
+        // Listings come back newest first, the same order the cursor pages use
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return pageCountService.page(LISTING_COUNT,
+                jobSeekerVacancyRepository.getAllVacanciesForTable(page),
+                jobSeekerVacancyRepository::countListed,
+                () -> pageCountService.estimateRows(JobSeekerVacancyRepository.LISTED_ROWS, new MapSqlParameterSource()));
     }
 
     @Override
@@ -68,19 +104,21 @@ public class JobSeekerVacancyServiceImpl implements JobSeekerVacancyService {
         Long employmentTypeId = filter.employmentTypeId();
         Long workScheduleId = filter.workScheduleId();
         
-        Timestamp postedTimeDate = null;
-        if (filter.postedTime() != null) {
-            LocalDateTime now = LocalDateTime.now();
-            switch (filter.postedTime()) {
-                case LAST_WEEK -> postedTimeDate = Timestamp.valueOf(now.minusDays(7));
-                case LAST_MONTH -> postedTimeDate = Timestamp.valueOf(now.minusDays(30));
-                case NEW -> postedTimeDate = Timestamp.valueOf(now.minusDays(3));
-            }
-        }
+        Timestamp postedTimeDate = resolvePostedTimeDate(filter);
 
         log.debug("Posted Time Date: {}", postedTimeDate);
+
+        // Filtered pages use the listing order on both paths, so a requested sort is not applied
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Optional<VacancySearchIndex.Result> indexed = vacancySearchIndex.search(
+                toSearchQuery(filter, postedTimeDate), page.getOffset(), page.getPageSize());
+        if (indexed.isPresent()) {
+            List<JobSeekerVacancyTableResponse> content = hydrate(indexed.get().ids());
+            log.debug("Result size: {} (search index)", content.size());
+            return new PageImpl<>(content, page, indexed.get().total());
+        }
         
-        Page<JobSeekerVacancyTableResponse> result = jobSeekerVacancyRepository.findVacanciesWithFilters(
+        Slice<JobSeekerVacancyTableResponse> rows = jobSeekerVacancyRepository.findVacanciesWithFilters(
                 locationTypeId,
                 categoryId,
                 minSalary,
@@ -88,9 +126,212 @@ public class JobSeekerVacancyServiceImpl implements JobSeekerVacancyService {
                 employmentTypeId,
                 workScheduleId,
                 postedTimeDate,
-                pageable);
-                
-        log.debug("Result size: {}", result.getContent().size());
-        return result;
+                filter.experienceLevelId(),
+                filter.educationLevelId(),
+                filter.languageSkillId(),
+                page);
+
+        log.debug("Result size: {}", rows.getNumberOfElements());
+        return pageCountService.page(FILTER_COUNT, rows,
+                limit -> jobSeekerVacancyRepository.countVacanciesWithFilters(
+                        locationTypeId,
+                        categoryId,
+                        minSalary,
+                        maxSalary,
+                        employmentTypeId,
+                        workScheduleId,
+                        postedTimeDate,
+                        filter.experienceLevelId(),
+                        filter.educationLevelId(),
+                        filter.languageSkillId(),
+                        limit),
+                () -> pageCountService.estimateRows(JobSeekerVacancyRepository.FILTERED_ROWS,
+                        filterParameters(filter, postedTimeDate)));
+    }
+
+    /**
+     * Counts come from the search index in the same request; while it is unavailable the page is returned
+     * without them rather than with one count query per facet
+     */
+    @Override
+    public FacetedPage<JobSeekerVacancyTableResponse> getAllVacanciesByFilterWithFacets(JobSeekerVacancyFilterRequest filter, Pageable pageable) {
+        Page<JobSeekerVacancyTableResponse> page = getAllVacanciesByFilter(filter, pageable);
+        Map<String, Map<Long, Long>> facets = vacancySearchIndex.facetCounts(toSearchQuery(filter, resolvePostedTimeDate(filter)))
+                .map(counts -> {
+                    Map<String, Map<Long, Long>> byName = new LinkedHashMap<>();
+                    counts.forEach((facet, values) -> byName.put(facet.name(), values));
+                    return byName;
+                })
+                .orElse(null);
+        return new FacetedPage<>(page, facets);
+    }
+
+    @Override
+    public CursorPage<JobSeekerVacancyTableResponse> getAllVacanciesForTable(String cursor, int size) {
+        VacancyCursor after = VacancyCursor.decode(cursor);
+        List<JobSeekerVacancyTableResponse> rows = after == null
+                ? jobSeekerVacancyRepository.getVacanciesForTableFirst(size + 1)
+                : jobSeekerVacancyRepository.getVacanciesForTableAfter(after.postedAtTimestamp(), after.id(), size + 1);
+        return toCursorPage(rows, size);
+    }
+
+    @Override
+    public CursorPage<JobSeekerVacancyTableResponse> getAllVacanciesByFilter(JobSeekerVacancyFilterRequest filter, String cursor, int size) {
+        VacancyCursor after = VacancyCursor.decode(cursor);
+        Timestamp postedTimeDate = resolvePostedTimeDate(filter);
+
+        Optional<List<String>> indexed = vacancySearchIndex.searchAfter(
+                toSearchQuery(filter, postedTimeDate),
+                after != null ? after.postedAt() : null,
+                after != null ? after.id() : null,
+                size + 1);
+        if (indexed.isPresent()) {
+            return toCursorPage(hydrate(indexed.get()), size);
+        }
+
+        List<JobSeekerVacancyTableResponse> rows = after == null
+                ? jobSeekerVacancyRepository.findVacanciesWithFiltersFirst(
+                        filter.locationTypeId(),
+                        filter.categoryId(),
+                        filter.minSalary(),
+                        filter.maxSalary(),
+                        filter.employmentTypeId(),
+                        filter.workScheduleId(),
+                        postedTimeDate,
+                        filter.experienceLevelId(),
+                        filter.educationLevelId(),
+                        filter.languageSkillId(),
+                        size + 1)
+                : jobSeekerVacancyRepository.findVacanciesWithFiltersAfter(
+                        filter.locationTypeId(),
+                        filter.categoryId(),
+                        filter.minSalary(),
+                        filter.maxSalary(),
+                        filter.employmentTypeId(),
+                        filter.workScheduleId(),
+                        postedTimeDate,
+                        filter.experienceLevelId(),
+                        filter.educationLevelId(),
+                        filter.languageSkillId(),
+                        after.postedAtTimestamp(),
+                        after.id(),
+                        size + 1);
+        return toCursorPage(rows, size);
+    }
+
+    @Override
+    public Page<JobSeekerVacancyTableResponse> searchVacancies(VacancySearchRequest request, Pageable pageable) {
+        String tsquery = SearchText.prefixQuery(request.query());
+        // Matches come back by relevance, so a requested sort is not applied
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if (tsquery == null) {
+            return Page.empty(page);
+        }
+        JobSeekerVacancyFilterRequest filter = request.filter() != null ? request.filter() : NO_FILTER;
+        Timestamp postedTimeDate = resolvePostedTimeDate(filter);
+        Slice<JobSeekerVacancyTableResponse> rows = jobSeekerVacancyRepository.searchVacancies(
+                tsquery,
+                filter.locationTypeId(),
+                filter.categoryId(),
+                filter.minSalary(),
+                filter.maxSalary(),
+                filter.employmentTypeId(),
+                filter.workScheduleId(),
+                postedTimeDate,
+                filter.experienceLevelId(),
+                filter.educationLevelId(),
+                filter.languageSkillId(),
+                page);
+        return pageCountService.page(SEARCH_COUNT, rows,
+                limit -> jobSeekerVacancyRepository.countSearchVacancies(
+                        tsquery,
+                        filter.locationTypeId(),
+                        filter.categoryId(),
+                        filter.minSalary(),
+                        filter.maxSalary(),
+                        filter.employmentTypeId(),
+                        filter.workScheduleId(),
+                        postedTimeDate,
+                        filter.experienceLevelId(),
+                        filter.educationLevelId(),
+                        filter.languageSkillId(),
+                        limit),
+                () -> pageCountService.estimateRows(JobSeekerVacancyRepository.SEARCHED_ROWS,
+                        filterParameters(filter, postedTimeDate).addValue("tsquery", tsquery, Types.VARCHAR)));
+    }
+
+    @Override
+    public List<AutocompleteSuggestionResponse> autocomplete(String prefix, int limit) {
+        return vacancyAutocompleteService.suggest(prefix, limit);
+    }
+
+    private static VacancySearchIndex.Query toSearchQuery(JobSeekerVacancyFilterRequest filter, Timestamp postedTimeDate) {
+        Map<VacancyFacet, Long> terms = new EnumMap<>(VacancyFacet.class);
+        terms.put(VacancyFacet.CATEGORY, filter.categoryId());
+        terms.put(VacancyFacet.LOCATION_TYPE, filter.locationTypeId());
+        terms.put(VacancyFacet.EMPLOYMENT_TYPE, filter.employmentTypeId());
+        terms.put(VacancyFacet.WORK_SCHEDULE, filter.workScheduleId());
+        terms.put(VacancyFacet.EXPERIENCE_LEVEL, filter.experienceLevelId());
+        terms.put(VacancyFacet.EDUCATION_LEVEL, filter.educationLevelId());
+        terms.put(VacancyFacet.LANGUAGE_SKILL, filter.languageSkillId());
+        return new VacancySearchIndex.Query(terms, filter.minSalary(), filter.maxSalary(),
+                postedTimeDate != null ? postedTimeDate.toLocalDateTime() : null);
+    }
+
+    /**
+     * Binds the parameters of {@link JobSeekerVacancyRepository#FILTER_CONDITIONS} for a planner estimate
+     */
+    private static MapSqlParameterSource filterParameters(JobSeekerVacancyFilterRequest filter, Timestamp postedTimeDate) {
+        return new MapSqlParameterSource()
+                .addValue("locationTypeId", filter.locationTypeId(), Types.BIGINT)
+                .addValue("categoryId", filter.categoryId(), Types.BIGINT)
+                .addValue("minSalary", filter.minSalary(), Types.BIGINT)
+                .addValue("maxSalary", filter.maxSalary(), Types.BIGINT)
+                .addValue("employmentTypeId", filter.employmentTypeId(), Types.BIGINT)
+                .addValue("workScheduleId", filter.workScheduleId(), Types.BIGINT)
+                .addValue("postedTimeDate", postedTimeDate, Types.TIMESTAMP)
+                .addValue("experienceLevelId", filter.experienceLevelId(), Types.BIGINT)
+                .addValue("educationLevelId", filter.educationLevelId(), Types.BIGINT)
+                .addValue("languageSkillId", filter.languageSkillId(), Types.BIGINT);
+    }
+
+    /**
+     * Loads the rows of a page picked by the search index and puts them back in index order.
+     * A vacancy deleted by another node since the last rebuild is simply missing from the page.
+     */
+    private List<JobSeekerVacancyTableResponse> hydrate(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, JobSeekerVacancyTableResponse> rows = jobSeekerVacancyRepository.findTableRowsByIds(ids).stream()
+                .collect(Collectors.toMap(JobSeekerVacancyTableResponse::getId, Function.identity()));
+        return ids.stream().map(rows::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Trims the look-ahead row fetched to detect a following page and builds the continuation token
+     * from the last row that is actually returned
+     */
+    private CursorPage<JobSeekerVacancyTableResponse> toCursorPage(List<JobSeekerVacancyTableResponse> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<JobSeekerVacancyTableResponse> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            JobSeekerVacancyTableResponse last = content.get(content.size() - 1);
+            nextCursor = VacancyCursor.of(last.getPostedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(content, size, nextCursor, hasMore);
+    }
+
+    private Timestamp resolvePostedTimeDate(JobSeekerVacancyFilterRequest filter) {
+        if (filter.postedTime() == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return switch (filter.postedTime()) {
+            case LAST_WEEK -> Timestamp.valueOf(now.minusDays(7));
+            case LAST_MONTH -> Timestamp.valueOf(now.minusDays(30));
+            case NEW -> Timestamp.valueOf(now.minusDays(3));
+        };
     }
 }
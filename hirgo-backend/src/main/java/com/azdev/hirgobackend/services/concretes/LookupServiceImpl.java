@@ -1,12 +1,16 @@
 package com.azdev.hirgobackend.services.concretes;
 
+import com.azdev.hirgobackend.config.ReferenceDataProperties;
+import com.azdev.hirgobackend.dtos.lookup.LookupBatchResponse;
 import com.azdev.hirgobackend.dtos.lookup.LookupResponse;
+import com.azdev.hirgobackend.exceptions.domain.lookup.LookupBatchTooLargeException;
 import com.azdev.hirgobackend.exceptions.domain.lookup.LookupNotFound;
-import com.azdev.hirgobackend.mappers.LookupMapper;
-import com.azdev.hirgobackend.models.lookup.Lookup;
-import com.azdev.hirgobackend.repositories.LookupRepository;
 import com.azdev.hirgobackend.services.abstracts.LookupService;
+import com.azdev.hirgobackend.services.concretes.ReferenceDataCache.Snapshot;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -17,21 +21,20 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class LookupServiceImpl implements LookupService {
 
-    LookupRepository lookupRepository;
-    LookupMapper lookupMapper;
+    ReferenceDataCache referenceDataCache;
+    ReferenceDataProperties properties;
 
     @Override
     public LookupResponse lookup(Long id) {
-        Lookup lookup = lookupRepository.findById(id)
+        return Optional.ofNullable(referenceDataCache.snapshot().lookupsById().get(id))
                 .orElseThrow(() -> new LookupNotFound(id));
-        return lookupMapper.toResponse(lookup);
     }
 
     @Override
     public LookupResponse lookup(Long id, String type) {
         if (type != null && !type.isBlank()) {
-            Lookup lookup = lookupRepository.findByIdAndType(id, type);
-            return lookupMapper.toResponse(lookup);
+            LookupResponse lookup = referenceDataCache.snapshot().lookupsById().get(id);
+            return lookup != null && type.equals(lookup.type()) ? lookup : null;
         }
 
         return this.lookup(id);
@@ -39,8 +42,36 @@ public class LookupServiceImpl implements LookupService {
 
     @Override
     public List<LookupResponse> lookupAllByType(String type) {
-        List<Lookup> lookups = lookupRepository.findAllByType(type);
-        return lookupMapper.toListResponse(lookups);
+        return referenceDataCache.snapshot().lookupsByType(type);
+    }
+
+    /**
+     * @throws LookupBatchTooLargeException If more ids and types are asked for than one call allows
+     */
+    @Override
+    public LookupBatchResponse lookupBatch(List<Long> ids, List<String> types) {
+        List<Long> requestedIds = ids != null ? ids : List.of();
+        List<String> requestedTypes = types != null ? types : List.of();
+        if (requestedIds.size() + requestedTypes.size() > properties.getBatchMaxItems()) {
+            throw new LookupBatchTooLargeException(properties.getBatchMaxItems());
+        }
+
+        // One snapshot for the whole batch, so every entry comes from the same version
+        Snapshot snapshot = referenceDataCache.snapshot();
+        Map<Long, LookupResponse> byId = new LinkedHashMap<>();
+        for (Long id : requestedIds) {
+            LookupResponse lookup = id != null ? snapshot.lookupsById().get(id) : null;
+            if (lookup != null) {
+                byId.put(id, lookup);
+            }
+        }
+        Map<String, List<LookupResponse>> byType = new LinkedHashMap<>();
+        for (String type : requestedTypes) {
+            if (type != null && !type.isBlank()) {
+                byType.put(type, snapshot.lookupsByType(type));
+            }
+        }
+        return new LookupBatchResponse(byId, byType);
     }
 
 }
\ No newline at end of file
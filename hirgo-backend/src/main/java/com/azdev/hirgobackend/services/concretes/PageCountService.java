@@ -0,0 +1,95 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.PaginationProperties;
+import com.azdev.hirgobackend.dtos.common.response.CountedPage;
+import com.azdev.hirgobackend.enums.CountStrategy;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+
+/**
+ * Turns a slice of results into a page, computing its total the way the endpoint is configured to under
+ * {@code pagination.count}. A slice that ends the results already knows its total and is never counted.
+ */
+@Slf4j
+@Service
+public class PageCountService {
+
+    private final PaginationProperties properties;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public PageCountService(PaginationProperties properties,
+                            NamedParameterJdbcTemplate jdbcTemplate,
+                            ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param endpoint Key of the endpoint in {@code pagination.count}
+     * @param slice The rows of the page, fetched with one row of look-ahead
+     * @param count Counts the matches, stopping after the given number; null counts all of them
+     * @param estimate Planner estimate of the matches, see {@link #estimateRows}; null if the endpoint has none,
+     *                 in which case an estimated count is capped instead
+     */
+    public <T> CountedPage<T> page(String endpoint, Slice<T> slice, CountQuery count, Supplier<OptionalLong> estimate) {
+        Pageable pageable = slice.getPageable();
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+            return new CountedPage<>(slice.getContent(), pageable, seen, true, false);
+        }
+
+        CountStrategy strategy = properties.strategy(endpoint);
+        if (strategy == CountStrategy.EXACT) {
+            return new CountedPage<>(slice.getContent(), pageable, count.count(null), true, slice.hasNext());
+        }
+        if (strategy == CountStrategy.ESTIMATED && estimate != null) {
+            OptionalLong estimated = estimate.get();
+            if (estimated.isPresent()) {
+                // The planner may guess below what the client has already paged through
+                return new CountedPage<>(slice.getContent(), pageable, Math.max(estimated.getAsLong(), seen), false,
+                        slice.hasNext());
+            }
+        }
+        // Count one row past the cap, to tell a total that is exactly the cap from one that exceeds it
+        long limit = Math.max(properties.getCountCap(), seen) + 1;
+        long counted = count.count(limit);
+        return counted < limit
+                ? new CountedPage<>(slice.getContent(), pageable, counted, true, slice.hasNext())
+                : new CountedPage<>(slice.getContent(), pageable, limit - 1, false, slice.hasNext());
+    }
+
+    /**
+     * The number of rows the query planner expects a query to return, read from {@code EXPLAIN} with the
+     * parameters bound, so the estimate reflects the actual filter values without running the query.
+     *
+     * @return The estimate, or empty if the query could not be explained
+     */
+    public OptionalLong estimateRows(String sql, SqlParameterSource parameters) {
+        try {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, parameters, String.class);
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? OptionalLong.of(rows.asLong()) : OptionalLong.empty();
+        } catch (Exception e) {
+            log.warn("Failed to estimate row count: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    @FunctionalInterface
+    public interface CountQuery {
+        /**
+         * @param limit Stop counting after this many matches; null for no limit
+         */
+        long count(Long limit);
+    }
+}
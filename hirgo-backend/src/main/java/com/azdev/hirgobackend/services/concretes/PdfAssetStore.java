@@ -0,0 +1,168 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.PdfAssetProperties;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory store of the fonts, stylesheets, images and scripts that PDF HTML references.
+ * Every browser context of the render pool routes its requests through here: bundled assets and
+ * assets fetched before are answered from memory, so a render waits on no outside host once warm,
+ * and with {@code block-unknown} it never contacts one at all.
+ */
+@Slf4j
+@Service
+public class PdfAssetStore {
+
+    private static final Set<String> CACHEABLE_TYPES = Set.of("stylesheet", "font", "image", "script");
+    private static final Map<String, String> CORS_HEADERS = Map.of("Access-Control-Allow-Origin", "*");
+
+    private final PdfAssetProperties properties;
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    // Filled once at startup and only read afterwards
+    private final Map<String, Asset> bundled = new HashMap<>();
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Asset> fetched = new LinkedHashMap<>(16, 0.75f, true);
+    private long fetchedBytes;
+
+    private final Counter hits;
+    private final Counter fetches;
+    private final Counter blocked;
+
+    public PdfAssetStore(PdfAssetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hits = Counter.builder("pdf.assets.requests").tag("result", "memory")
+                .description("Renderer requests for assets")
+                .register(meterRegistry);
+        this.fetches = Counter.builder("pdf.assets.requests").tag("result", "network")
+                .description("Renderer requests for assets")
+                .register(meterRegistry);
+        this.blocked = Counter.builder("pdf.assets.requests").tag("result", "blocked")
+                .description("Renderer requests for assets")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void loadBundledAssets() throws IOException {
+        for (Map.Entry<String, String> entry : properties.getBundled().entrySet()) {
+            Resource resource = resourceLoader.getResource(entry.getValue());
+            String contentType = MediaTypeFactory.getMediaType(resource)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                    .toString();
+            bundled.put(entry.getKey(), new Asset(resource.getContentAsByteArray(), contentType, Long.MAX_VALUE));
+        }
+        log.info("Loaded {} bundled PDF assets", bundled.size());
+    }
+
+    /**
+     * Route every request of the context through the store
+     */
+    public void install(BrowserContext context) {
+        if (properties.isEnabled()) {
+            context.route("**/*", this::handle);
+        }
+    }
+
+    private void handle(Route route) {
+        Request request = route.request();
+        String url = request.url();
+        Asset asset = bundled.get(url);
+        if (asset == null) {
+            asset = getFetched(url);
+        }
+        if (asset != null) {
+            hits.increment();
+            route.fulfill(new Route.FulfillOptions()
+                    .setStatus(200)
+                    .setContentType(asset.contentType())
+                    .setHeaders(CORS_HEADERS)
+                    .setBodyBytes(asset.body()));
+            return;
+        }
+        if (properties.isBlockUnknown()) {
+            blocked.increment();
+            route.abort("blockedbyclient");
+            return;
+        }
+        if (!"GET".equals(request.method()) || !CACHEABLE_TYPES.contains(request.resourceType())) {
+            route.resume();
+            return;
+        }
+
+        fetches.increment();
+        APIResponse response;
+        try {
+            response = route.fetch();
+        } catch (PlaywrightException e) {
+            // Left unanswered, the request would stall the render until it times out
+            log.debug("Failed to fetch PDF asset {}: {}", url, e.getMessage());
+            route.abort();
+            return;
+        }
+        if (response.status() == 200) {
+            store(url, response);
+        }
+        route.fulfill(new Route.FulfillOptions().setResponse(response));
+    }
+
+    private synchronized Asset getFetched(String url) {
+        Asset asset = fetched.get(url);
+        if (asset != null && asset.expiresAt() <= System.currentTimeMillis()) {
+            fetched.remove(url);
+            fetchedBytes -= asset.body().length;
+            return null;
+        }
+        return asset;
+    }
+
+    private void store(String url, APIResponse response) {
+        byte[] body = response.body();
+        if (body.length > properties.getMaxBytes()) {
+            // Too large to keep; the asset is still served, just fetched again next time
+            return;
+        }
+        String contentType = response.headers().getOrDefault("content-type", MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Asset previous = fetched.put(url, new Asset(body, contentType, now + properties.getFetchedTtlMs()));
+            fetchedBytes += body.length - (previous != null ? previous.body().length : 0);
+            // Drop expired assets first, then the least recently used until back under the limit
+            Iterator<Asset> expired = fetched.values().iterator();
+            while (expired.hasNext()) {
+                Asset candidate = expired.next();
+                if (candidate.expiresAt() <= now) {
+                    fetchedBytes -= candidate.body().length;
+                    expired.remove();
+                }
+            }
+            Iterator<Asset> eldest = fetched.values().iterator();
+            while (fetchedBytes > properties.getMaxBytes() && eldest.hasNext()) {
+                fetchedBytes -= eldest.next().body().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private record Asset(byte[] body, String contentType, long expiresAt) {
+    }
+}
@@ -1,11 +1,12 @@
 package com.azdev.hirgobackend.services.concretes;
 
-import com.microsoft.playwright.Browser;
+import com.azdev.hirgobackend.config.PdfRenderProperties;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.options.Margin;
 import com.microsoft.playwright.options.Media;
 import com.microsoft.playwright.options.WaitUntilState;
 import java.io.IOException;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,46 +14,96 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class PdfGenerationService {
 
-    private final Browser browser;
+    private final PdfRenderEngine pdfRenderEngine;
+    private final PdfRenderCache pdfRenderCache;
+    private final PdfRenderProperties pdfRenderProperties;
 
     private static final int A4_WIDTH_PX = 794;
     private static final int A4_HEIGHT_PX = 1123;
 
-    public byte[] generatePdfFromHtml(String fullHtml) throws IOException {
-        Page page = null;
-        try {
-            page = browser.newPage();
-            page.setViewportSize(A4_WIDTH_PX, A4_HEIGHT_PX);
-            page.setContent(fullHtml, new Page.SetContentOptions().setWaitUntil(WaitUntilState.NETWORKIDLE));
-            page.emulateMedia(new Page.EmulateMediaOptions().setMedia(Media.PRINT));
-
-            // DÜZELTME BURADA: PdfOptions nesnesini oluşturup ayarlıyoruz.
-            Page.PdfOptions pdfOptions = new Page.PdfOptions();
-
-            // Ayarları tek tek set edelim.
-            pdfOptions.setFormat("A4");
-            pdfOptions.setPrintBackground(true);
-
-            // Margin nesnesini oluşturup pdfOptions'a set edelim.
-            Margin margin = new Margin();
-            margin.setTop("0mm");
-            margin.setBottom("0mm");
-            margin.setLeft("0mm");
-            margin.setRight("0mm");
-
-            pdfOptions.setMargin(margin);
-
-            // Ayarlanmış options nesnesini pdf metoduna verelim.
-            byte[] pdfBytes = page.pdf(pdfOptions);
-
-            return pdfBytes;
-        } catch (Exception e) {
-            // log.error("PDF generation failed", e);
-            throw new IOException("Failed to generate PDF from HTML", e);
-        } finally {
-            if (page != null) {
-                page.close();
+    // Aşağıdaki render ayarlarının özeti; ayarlar değişirse bu da değişmeli ki eski önbellek kullanılmasın
+    private static final String RENDER_OPTIONS = "v2;A4;print;background;margin=0mm;viewport=794x1123";
+
+    // Yazı tipleri yüklenip tüm görseller çözülene kadar bekler; ağ sessizliği beklemekten çok daha hızlıdır.
+    // evaluate varsayılan zaman aşımına tabi olmadığı için bekleme süresi betiğin içinde sınırlanır
+    private static final String READY_SCRIPT = """
+            async timeoutMs => {
+                const ready = (async () => {
+                    await document.fonts.ready;
+                    await Promise.all(Array.from(document.images, image => image.decode().catch(() => null)));
+                })();
+                const timeout = new Promise((resolve, reject) =>
+                    setTimeout(() => reject(new Error('Fonts and images not ready after ' + timeoutMs + ' ms')), timeoutMs));
+                await Promise.race([ready, timeout]);
             }
+            """;
+
+    /**
+     * Content key of the PDF the given HTML renders to; equal keys mean identical PDFs
+     */
+    public String cacheKey(String fullHtml) {
+        return pdfRenderCache.keyFor(fullHtml, RENDER_OPTIONS);
+    }
+
+    public byte[] generatePdfFromHtml(String fullHtml) throws IOException {
+        return generatePdfFromHtml(fullHtml, cacheKey(fullHtml));
+    }
+
+    public byte[] generatePdfFromHtml(String fullHtml, String cacheKey) throws IOException {
+        Optional<byte[]> cached = pdfRenderCache.get(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
         }
+        byte[] pdfBytes = render(fullHtml);
+        pdfRenderCache.put(cacheKey, pdfBytes);
+        return pdfBytes;
+    }
+
+    /**
+     * @return The cached PDF for the key, if any
+     */
+    public Optional<byte[]> findCached(String cacheKey) {
+        return pdfRenderCache.get(cacheKey);
+    }
+
+    /**
+     * Queue a render without waiting for it; the result is cached once it completes
+     */
+    public PdfRenderEngine.QueuedRender<byte[]> submitRender(String fullHtml, String cacheKey) {
+        PdfRenderEngine.QueuedRender<byte[]> queued = pdfRenderEngine.submit(page -> renderPage(page, fullHtml));
+        queued.result().thenAccept(pdfBytes -> pdfRenderCache.put(cacheKey, pdfBytes));
+        return queued;
+    }
+
+    private byte[] render(String fullHtml) throws IOException {
+        return pdfRenderEngine.render(page -> renderPage(page, fullHtml));
+    }
+
+    private byte[] renderPage(Page page, String fullHtml) {
+        // Sayfa havuzdan gelir ve tekrar kullanılır; bu yüzden her render kendi ayarlarını yapar
+        page.setViewportSize(A4_WIDTH_PX, A4_HEIGHT_PX);
+        // Varlıklar PdfAssetStore'dan bellekten geldiği için load olayı hızlıdır; NETWORKIDLE'ın 500 ms beklemesine gerek yok
+        page.setContent(fullHtml, new Page.SetContentOptions().setWaitUntil(WaitUntilState.LOAD));
+        page.evaluate(READY_SCRIPT, pdfRenderProperties.getRenderTimeoutMs());
+        page.emulateMedia(new Page.EmulateMediaOptions().setMedia(Media.PRINT));
+
+        // DÜZELTME BURADA: PdfOptions nesnesini oluşturup ayarlıyoruz.
+        Page.PdfOptions pdfOptions = new Page.PdfOptions();
+
+        // Ayarları tek tek set edelim.
+        pdfOptions.setFormat("A4");
+        pdfOptions.setPrintBackground(true);
+
+        // Margin nesnesini oluşturup pdfOptions'a set edelim.
+        Margin margin = new Margin();
+        margin.setTop("0mm");
+        margin.setBottom("0mm");
+        margin.setLeft("0mm");
+        margin.setRight("0mm");
+
+        pdfOptions.setMargin(margin);
+
+        // Ayarlanmış options nesnesini pdf metoduna verelim.
+        return page.pdf(pdfOptions);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,259 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.PdfJobProperties;
+import com.azdev.hirgobackend.dtos.resume.PdfJobResponse;
+import com.azdev.hirgobackend.enums.PdfJobStatus;
+import com.azdev.hirgobackend.exceptions.domain.pdf.PdfJobLimitReachedException;
+import com.azdev.hirgobackend.exceptions.domain.pdf.PdfJobNotFoundException;
+import com.azdev.hirgobackend.exceptions.domain.pdf.PdfJobNotReadyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Asynchronous PDF jobs.
+ * Submitting only queues the render, so no request thread waits on a browser; the finished PDF is written
+ * to a temp file that the download endpoint streams straight from disk. Jobs live in memory and are
+ * dropped, together with their files, a while after they finish.
+ */
+@Slf4j
+@Service
+public class PdfJobService {
+
+    private static final String DOWNLOAD_URL = "/api/v1/generate-pdf/jobs/%s/download";
+
+    private final PdfGenerationService pdfGenerationService;
+    private final PdfRenderEngine pdfRenderEngine;
+    private final PdfJobProperties properties;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // Unfinished jobs per owner; reserved before a job is created and released when it finishes
+    private final Map<String, Integer> activeJobs = new ConcurrentHashMap<>();
+
+    public PdfJobService(PdfGenerationService pdfGenerationService,
+                         PdfRenderEngine pdfRenderEngine,
+                         PdfJobProperties properties) {
+        this.pdfGenerationService = pdfGenerationService;
+        this.pdfRenderEngine = pdfRenderEngine;
+        this.properties = properties;
+    }
+
+    /**
+     * Jobs do not survive a restart, so neither do their files
+     */
+    @PostConstruct
+    public void prepareTempDir() throws IOException {
+        Path directory = Paths.get(properties.getTempDir());
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(PdfJobService::deleteQuietly);
+        }
+    }
+
+    /**
+     * @param owner Subject of the user submitting the job
+     * @param fullHtml The HTML to render
+     * @return The new job's state
+     * @throws PdfJobLimitReachedException if the user already has too many unfinished jobs
+     */
+    public PdfJobResponse submit(String owner, String fullHtml) {
+        if (!reserveSlot(owner)) {
+            throw new PdfJobLimitReachedException(properties.getMaxActivePerUser());
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), owner);
+        Optional<byte[]> cached;
+        try {
+            String cacheKey = pdfGenerationService.cacheKey(fullHtml);
+            cached = pdfGenerationService.findCached(cacheKey);
+            if (cached.isEmpty()) {
+                job.render = pdfGenerationService.submitRender(fullHtml, cacheKey);
+            }
+        } catch (RuntimeException e) {
+            releaseSlot(owner);
+            throw e;
+        }
+
+        jobs.put(job.id, job);
+        if (cached.isPresent()) {
+            // Writing a cached PDF is cheap enough to do before answering
+            complete(job, cached.get(), null);
+            return toResponse(job);
+        }
+
+        // Write the file off the render worker, which should move on to the next page right away
+        job.render.result().whenCompleteAsync((pdfBytes, error) -> complete(job, pdfBytes, error));
+        return toResponse(job);
+    }
+
+    public PdfJobResponse getStatus(String owner, String jobId) {
+        return toResponse(findOwned(owner, jobId));
+    }
+
+    /**
+     * @return The finished PDF on disk
+     * @throws PdfJobNotReadyException if the job has not completed
+     */
+    public Download getDownload(String owner, String jobId) {
+        Job job = findOwned(owner, jobId);
+        if (job.status != PdfJobStatus.COMPLETED) {
+            throw new PdfJobNotReadyException(jobId);
+        }
+        return new Download(job.file, job.sizeBytes);
+    }
+
+    @Scheduled(fixedDelayString = "${pdf.jobs.cleanup-interval-ms:60000}")
+    public void removeExpiredJobs() {
+        long horizon = System.currentTimeMillis() - properties.getTtlMs();
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.finishedAt > horizon) {
+                return false;
+            }
+            if (job.file != null) {
+                deleteQuietly(job.file);
+            }
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void deleteFiles() {
+        jobs.values().forEach(job -> {
+            if (job.file != null) {
+                deleteQuietly(job.file);
+            }
+        });
+        jobs.clear();
+    }
+
+    private Job findOwned(String owner, String jobId) {
+        Job job = jobs.get(jobId);
+        // Someone else's job is reported as missing rather than forbidden, so ids cannot be probed
+        if (job == null || !Objects.equals(job.owner, owner)) {
+            throw new PdfJobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Count a new job against its owner's limit, atomically with the check
+     *
+     * @return Whether the owner had a free slot
+     */
+    private boolean reserveSlot(String owner) {
+        boolean[] reserved = {false};
+        activeJobs.compute(owner, (key, active) -> {
+            int current = active == null ? 0 : active;
+            if (current >= properties.getMaxActivePerUser()) {
+                return active;
+            }
+            reserved[0] = true;
+            return current + 1;
+        });
+        return reserved[0];
+    }
+
+    private void releaseSlot(String owner) {
+        activeJobs.computeIfPresent(owner, (key, active) -> active > 1 ? active - 1 : null);
+    }
+
+    private void complete(Job job, byte[] pdfBytes, Throwable error) {
+        try {
+            store(job, pdfBytes, error);
+        } finally {
+            releaseSlot(job.owner);
+        }
+    }
+
+    private void store(Job job, byte[] pdfBytes, Throwable error) {
+        if (error != null) {
+            log.warn("PDF job {} failed: {}", job.id, error.getMessage());
+            job.error = "Failed to render PDF";
+            job.finish(PdfJobStatus.FAILED);
+            return;
+        }
+        Path file = Paths.get(properties.getTempDir(), job.id + ".pdf");
+        try {
+            Files.write(file, pdfBytes);
+            job.file = file;
+            job.sizeBytes = pdfBytes.length;
+            job.finish(PdfJobStatus.COMPLETED);
+        } catch (IOException e) {
+            log.error("Could not write PDF of job {}: {}", job.id, e.getMessage());
+            deleteQuietly(file);
+            job.error = "Failed to store PDF";
+            job.finish(PdfJobStatus.FAILED);
+        }
+    }
+
+    private PdfJobResponse toResponse(Job job) {
+        PdfJobStatus status = job.status;
+        Long queuePosition = null;
+        if (status == PdfJobStatus.QUEUED) {
+            if (pdfRenderEngine.isStarted(job.render)) {
+                status = PdfJobStatus.RENDERING;
+            } else {
+                queuePosition = pdfRenderEngine.positionOf(job.render);
+            }
+        }
+        return new PdfJobResponse(
+                job.id,
+                status,
+                queuePosition,
+                status == PdfJobStatus.COMPLETED ? job.sizeBytes : null,
+                status == PdfJobStatus.COMPLETED ? DOWNLOAD_URL.formatted(job.id) : null,
+                job.error);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete PDF job file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * A finished PDF ready to be streamed
+     */
+    public record Download(Path file, long sizeBytes) {
+    }
+
+    private static final class Job {
+        private final String id;
+        private final String owner;
+        private PdfRenderEngine.QueuedRender<byte[]> render;
+        // Written by the completing thread, read by status requests; status is set last
+        private volatile Path file;
+        private volatile long sizeBytes;
+        private volatile String error;
+        private volatile long finishedAt;
+        private volatile PdfJobStatus status = PdfJobStatus.QUEUED;
+
+        private Job(String id, String owner) {
+            this.id = id;
+            this.owner = owner;
+        }
+
+        private boolean isFinished() {
+            return status == PdfJobStatus.COMPLETED || status == PdfJobStatus.FAILED;
+        }
+
+        private void finish(PdfJobStatus finalStatus) {
+            finishedAt = System.currentTimeMillis();
+            status = finalStatus;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.PdfCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Content-addressed cache of rendered PDFs.
+ * The key is a SHA-256 of the normalized HTML plus the render options, so the same resume downloaded
+ * again is served without a render, and the key doubles as a strong ETag.
+ * A size-bounded LRU memory tier sits in front of an optional tier of files on disk.
+ * A disk hit is read once and promoted to the memory tier, which serves later hits without touching the file.
+ */
+@Slf4j
+@Service
+public class PdfRenderCache {
+
+    private static final String FILE_SUFFIX = ".pdf";
+
+    private final PdfCacheProperties properties;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskBytes;
+
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+    private final Counter bytesSaved;
+
+    public PdfRenderCache(PdfCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.memoryHits = Counter.builder("pdf.cache.requests").tag("result", "hit").tag("tier", "memory")
+                .description("PDF cache lookups")
+                .register(meterRegistry);
+        this.diskHits = Counter.builder("pdf.cache.requests").tag("result", "hit").tag("tier", "disk")
+                .description("PDF cache lookups")
+                .register(meterRegistry);
+        this.misses = Counter.builder("pdf.cache.requests").tag("result", "miss").tag("tier", "none")
+                .description("PDF cache lookups")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("pdf.cache.bytes.saved")
+                .description("Bytes of PDF served from the cache instead of rendered")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("pdf.cache.hit.ratio", this, PdfRenderCache::hitRatio)
+                .description("Share of lookups served from the cache")
+                .register(meterRegistry);
+        Gauge.builder("pdf.cache.memory.bytes", this, cache -> cache.memoryBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("pdf.cache.disk.bytes", this, cache -> cache.diskBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void indexDiskTier() {
+        if (!properties.isEnabled() || !properties.isDiskEnabled()) {
+            return;
+        }
+        Path directory = Paths.get(properties.getDiskPath());
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                // Oldest first, so the access order starts out as write order
+                files.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX))
+                        .sorted(Comparator.comparingLong(PdfRenderCache::lastModified))
+                        .forEach(this::indexFile);
+            }
+            log.info("Indexed {} cached PDFs ({} bytes) in {}", disk.size(), diskBytes, directory);
+        } catch (IOException e) {
+            log.warn("Could not index PDF cache directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * @param html The HTML to render
+     * @param renderOptions Everything besides the HTML that affects the output
+     * @return The cache key, also usable as an ETag value
+     */
+    public String keyFor(String html, String renderOptions) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(renderOptions.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalize(html).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public Optional<byte[]> get(String key) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        byte[] pdf = getFromMemory(key);
+        if (pdf != null) {
+            memoryHits.increment();
+            bytesSaved.increment(pdf.length);
+            return Optional.of(pdf);
+        }
+        pdf = getFromDisk(key);
+        if (pdf != null) {
+            diskHits.increment();
+            bytesSaved.increment(pdf.length);
+            putInMemory(key, pdf);
+            return Optional.of(pdf);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String key, byte[] pdf) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        putInMemory(key, pdf);
+        putOnDisk(key, pdf);
+    }
+
+    /**
+     * Line endings and surrounding whitespace never change the rendered output; anything else might
+     */
+    private static String normalize(String html) {
+        String normalized = html;
+        if (normalized.startsWith("\uFEFF")) {
+            normalized = normalized.substring(1);
+        }
+        return normalized.replace("\r\n", "\n").replace('\r', '\n').strip();
+    }
+
+    private synchronized byte[] getFromMemory(String key) {
+        return memory.get(key);
+    }
+
+    private synchronized void putInMemory(String key, byte[] pdf) {
+        if (pdf.length > properties.getMaxEntryBytes() || pdf.length > properties.getMemoryMaxBytes()) {
+            return;
+        }
+        byte[] previous = memory.put(key, pdf);
+        memoryBytes += pdf.length - (previous != null ? previous.length : 0);
+        Iterator<Map.Entry<String, byte[]>> eldest = memory.entrySet().iterator();
+        while (memoryBytes > properties.getMemoryMaxBytes() && eldest.hasNext()) {
+            memoryBytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+
+    private byte[] getFromDisk(String key) {
+        if (!properties.isDiskEnabled() || !touchDiskEntry(key)) {
+            return null;
+        }
+        Path file = fileFor(key);
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            log.warn("Dropping unreadable cached PDF {}: {}", file, e.getMessage());
+            removeDiskEntry(key);
+            return null;
+        }
+    }
+
+    private void putOnDisk(String key, byte[] pdf) {
+        if (!properties.isDiskEnabled() || pdf.length > properties.getDiskMaxBytes()) {
+            return;
+        }
+        Path file = fileFor(key);
+        try {
+            // Write beside the target and swap in, so readers never see a half-written file
+            Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+            Files.write(temp, pdf);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            addDiskEntry(key, pdf.length);
+        } catch (IOException e) {
+            log.warn("Could not write cached PDF {}: {}", file, e.getMessage());
+        }
+    }
+
+    private synchronized boolean touchDiskEntry(String key) {
+        return disk.get(key) != null;
+    }
+
+    private synchronized void removeDiskEntry(String key) {
+        Long size = disk.remove(key);
+        if (size != null) {
+            diskBytes -= size;
+        }
+        deleteQuietly(fileFor(key));
+    }
+
+    private synchronized void addDiskEntry(String key, long size) {
+        Long previous = disk.put(key, size);
+        diskBytes += size - (previous != null ? previous : 0);
+        Iterator<Map.Entry<String, Long>> eldest = disk.entrySet().iterator();
+        while (diskBytes > properties.getDiskMaxBytes() && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            diskBytes -= entry.getValue();
+            eldest.remove();
+            deleteQuietly(fileFor(entry.getKey()));
+        }
+    }
+
+    private void indexFile(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            addDiskEntry(name.substring(0, name.length() - FILE_SUFFIX.length()), Files.size(file));
+        } catch (IOException e) {
+            log.warn("Skipping cached PDF {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Path fileFor(String key) {
+        return Paths.get(properties.getDiskPath(), key + FILE_SUFFIX);
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete cached PDF {}: {}", file, e.getMessage());
+        }
+    }
+
+    private synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+
+    private synchronized long diskBytes() {
+        return diskBytes;
+    }
+
+    private double hitRatio() {
+        double hits = memoryHits.count() + diskHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+}
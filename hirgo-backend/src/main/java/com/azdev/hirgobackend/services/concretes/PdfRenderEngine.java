@@ -0,0 +1,401 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.PdfRenderProperties;
+import com.azdev.hirgobackend.exceptions.domain.pdf.PdfRenderRejectedException;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Elastic pool of Playwright render workers.
+ * Playwright's Java client is not thread-safe, so every worker thread owns its own Playwright,
+ * browser, context and a page that is reused between renders. Renders wait in a bounded queue;
+ * when it is full they are rejected instead of piling up behind the browsers.
+ * <p>
+ * No browser is launched until the first render (unless {@code start-on-boot} is set). Workers are added
+ * while renders wait with no free worker, up to {@code max-workers}, and those above {@code warm-workers}
+ * close their browser after {@code idle-timeout-ms} without work.
+ */
+@Slf4j
+public class PdfRenderEngine {
+
+    private static final List<String> BROWSER_ARGS = List.of("--no-sandbox", "--disable-setuid-sandbox");
+    private static final String WARM_UP_HTML = "<!DOCTYPE html><html><body></body></html>";
+
+    private final PdfRenderProperties properties;
+    // Applied to every new browser context, e.g. to route its requests
+    private final Consumer<BrowserContext> contextSetup;
+    private final BlockingQueue<RenderTask<?>> queue;
+    private final Set<Worker> workers = ConcurrentHashMap.newKeySet();
+    // Workers counted before their thread starts, so concurrent submitters do not overshoot max-workers
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+    private final AtomicInteger workerIndex = new AtomicInteger();
+    // Renders ever admitted and ever taken by a worker; their difference locates a render in the queue
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong taken = new AtomicLong();
+    private volatile boolean running = true;
+
+    private final Timer renderTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedRenders;
+    private final Counter recycledBrowsers;
+    private final Counter launchedBrowsers;
+    private final Counter idleShutdowns;
+    private final Timer launchTimer;
+
+    public PdfRenderEngine(PdfRenderProperties properties, MeterRegistry meterRegistry,
+                           Consumer<BrowserContext> contextSetup) {
+        this.properties = properties;
+        this.contextSetup = contextSetup;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.renderTimer = Timer.builder("pdf.render")
+                .description("Time a worker spends rendering one PDF")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("pdf.render.queue.wait")
+                .description("Time a render waits for a free worker")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejectedRenders = Counter.builder("pdf.render.rejected")
+                .description("Renders rejected because the queue was full")
+                .register(meterRegistry);
+        this.recycledBrowsers = Counter.builder("pdf.render.browser.recycled")
+                .description("Browsers relaunched after a failure or reaching the render limit")
+                .register(meterRegistry);
+        this.launchedBrowsers = Counter.builder("pdf.render.browser.launched")
+                .description("Browsers launched, including relaunches")
+                .register(meterRegistry);
+        this.idleShutdowns = Counter.builder("pdf.render.workers.idle.shutdown")
+                .description("Workers that closed their browser after idling")
+                .register(meterRegistry);
+        this.launchTimer = Timer.builder("pdf.render.browser.launch")
+                .description("Time to launch and warm up a browser")
+                .register(meterRegistry);
+        Gauge.builder("pdf.render.workers.live", liveWorkers, AtomicInteger::get)
+                .description("Workers currently running, idle or busy")
+                .register(meterRegistry);
+        Gauge.builder("pdf.render.workers.busy", busyWorkers, AtomicInteger::get)
+                .description("Workers currently rendering")
+                .register(meterRegistry);
+        Gauge.builder("pdf.render.utilization", this, PdfRenderEngine::utilization)
+                .description("Share of workers currently rendering")
+                .register(meterRegistry);
+        Gauge.builder("pdf.render.queue.size", queue, BlockingQueue::size)
+                .description("Renders waiting for a worker")
+                .register(meterRegistry);
+
+        if (properties.isStartOnBoot()) {
+            ensureWorkers();
+        }
+    }
+
+    /**
+     * Run a render on a pooled page and wait for its result, at most {@code render-timeout-ms}
+     *
+     * @param job Work to do with the page; the page is reused, so the job must set any state it depends on
+     * @return The job's result
+     * @throws PdfRenderRejectedException if the queue is full
+     * @throws IOException if the render failed or did not finish in time
+     */
+    public <T> T render(Function<Page, T> job) throws IOException {
+        CompletableFuture<T> result = submit(job).result();
+        try {
+            return result.get(properties.getRenderTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A queued render is skipped; a running one has its browser recycled once the job returns
+            result.cancel(false);
+            throw new IOException("Timed out waiting for PDF render", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(false);
+            throw new IOException("Interrupted while waiting for PDF render", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render PDF", e.getCause());
+        }
+    }
+
+    /**
+     * Queue a render without waiting for it
+     *
+     * @param job Work to do with the page
+     * @return The render's place in line and its eventual result
+     * @throws PdfRenderRejectedException if the queue is full
+     */
+    public <T> QueuedRender<T> submit(Function<Page, T> job) {
+        RenderTask<T> task = new RenderTask<>(job, System.nanoTime(), new CompletableFuture<>());
+        // Sequence numbers follow queue order because admission is serialized
+        synchronized (queue) {
+            if (!running || !queue.offer(task)) {
+                rejectedRenders.increment();
+                throw new PdfRenderRejectedException(properties.getRetryAfterSeconds());
+            }
+            QueuedRender<T> queued = new QueuedRender<>(admitted.incrementAndGet(), task.result());
+            ensureWorkers();
+            return queued;
+        }
+    }
+
+    /**
+     * @param render A render returned by {@link #submit(Function)}
+     * @return Renders ahead of it in the queue, 0 once a worker has picked it up
+     */
+    public long positionOf(QueuedRender<?> render) {
+        return Math.max(0, render.sequence() - taken.get() - 1);
+    }
+
+    /**
+     * @return Whether a worker has picked up the render
+     */
+    public boolean isStarted(QueuedRender<?> render) {
+        return render.sequence() <= taken.get();
+    }
+
+    /**
+     * @return Renders waiting for a worker
+     */
+    public int queuedRenders() {
+        return queue.size();
+    }
+
+    public void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        RenderTask<?> task;
+        while ((task = queue.poll()) != null) {
+            task.result().completeExceptionally(new IOException("PDF renderer is shutting down"));
+        }
+        for (Worker worker : workers) {
+            try {
+                worker.join(properties.getRenderTimeoutMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Start workers until the warm set is up and every queued render has a free worker, within max-workers
+     */
+    private void ensureWorkers() {
+        while (running) {
+            int live = liveWorkers.get();
+            int idle = live - busyWorkers.get();
+            boolean belowWarm = live < properties.getWarmWorkers();
+            boolean backlog = live == 0 ? !queue.isEmpty() : queue.size() > idle;
+            if (live >= properties.getMaxWorkers() || (!belowWarm && !backlog)) {
+                return;
+            }
+            if (liveWorkers.compareAndSet(live, live + 1)) {
+                Worker worker = new Worker(workerIndex.getAndIncrement());
+                workers.add(worker);
+                worker.start();
+            }
+        }
+    }
+
+    /**
+     * Give up an idle worker's slot unless that would take the pool below the warm set
+     */
+    private boolean retire() {
+        int live;
+        do {
+            live = liveWorkers.get();
+            if (live <= properties.getWarmWorkers()) {
+                return false;
+            }
+        } while (!liveWorkers.compareAndSet(live, live - 1));
+        return true;
+    }
+
+    private double utilization() {
+        int live = liveWorkers.get();
+        return live == 0 ? 0.0 : (double) busyWorkers.get() / live;
+    }
+
+    /**
+     * A render admitted to the queue
+     *
+     * @param sequence Admission order, starting at 1
+     * @param result Completes with the job's result, or exceptionally if the render failed
+     */
+    public record QueuedRender<T>(long sequence, CompletableFuture<T> result) {
+    }
+
+    private record RenderTask<T>(Function<Page, T> job, long enqueuedAt, CompletableFuture<T> result) {
+
+        /**
+         * @return Whether the job ran; false if the caller gave up while the task was queued
+         */
+        boolean run(Page page) {
+            if (result.isDone()) {
+                return false;
+            }
+            try {
+                result.complete(job.apply(page));
+                return true;
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private final class Worker extends Thread {
+
+        private Playwright playwright;
+        private Browser browser;
+        private BrowserContext context;
+        private Page page;
+        private int rendersSinceLaunch;
+
+        Worker(int index) {
+            super("pdf-render-" + index);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            boolean retired = false;
+            try {
+                try {
+                    // Launch before taking work so a queued render does not also wait for browser startup
+                    launch();
+                } catch (RuntimeException e) {
+                    log.error("Failed to launch browser for {}, retrying on first render: {}", getName(), e.getMessage());
+                    close();
+                }
+                while (running) {
+                    RenderTask<?> task;
+                    try {
+                        task = queue.poll(properties.getIdleTimeoutMs(), TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                    if (task == null) {
+                        if (retire()) {
+                            retired = true;
+                            idleShutdowns.increment();
+                            log.info("Shutting down idle worker {}", getName());
+                            break;
+                        }
+                        continue;
+                    }
+                    taken.incrementAndGet();
+                    process(task);
+                }
+            } finally {
+                close();
+                workers.remove(this);
+                if (!retired) {
+                    liveWorkers.decrementAndGet();
+                }
+            }
+            // A render queued while this worker was retiring may have counted on it
+            if (running && !queue.isEmpty()) {
+                ensureWorkers();
+            }
+        }
+
+        private void process(RenderTask<?> task) {
+            queueWaitTimer.record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+            busyWorkers.incrementAndGet();
+            Timer.Sample sample = Timer.start();
+            try {
+                if (task.result().isDone()) {
+                    // Caller gave up while the task was queued
+                    return;
+                }
+                boolean ran = task.run(page());
+                rendersSinceLaunch++;
+                if (ran && task.result().isCancelled()) {
+                    // The caller timed out mid-render, so the page may still be busy with it
+                    recycle("render timed out");
+                } else if (properties.getRecycleAfterRenders() > 0 && rendersSinceLaunch >= properties.getRecycleAfterRenders()) {
+                    recycle("render limit reached");
+                }
+            } catch (RuntimeException e) {
+                // A timeout or crash leaves the browser in an unknown state; start the next render on a fresh one
+                log.warn("PDF render failed on {}: {}", getName(), e.getMessage());
+                task.result().completeExceptionally(e);
+                recycle("render failed");
+            } finally {
+                sample.stop(renderTimer);
+                busyWorkers.decrementAndGet();
+            }
+        }
+
+        private Page page() {
+            if (page == null || page.isClosed()) {
+                launch();
+            }
+            return page;
+        }
+
+        private void launch() {
+            close();
+            Timer.Sample sample = Timer.start();
+            playwright = Playwright.create();
+            browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
+                    .setHeadless(true)
+                    .setArgs(BROWSER_ARGS));
+            context = browser.newContext();
+            context.setDefaultTimeout(properties.getRenderTimeoutMs());
+            contextSetup.accept(context);
+            page = context.newPage();
+            if (properties.isWarmUpOnLaunch()) {
+                // The first PDF of a renderer process is far slower than later ones; pay for it here
+                page.setContent(WARM_UP_HTML);
+                page.pdf();
+            }
+            rendersSinceLaunch = 0;
+            launchedBrowsers.increment();
+            long launchNanos = sample.stop(launchTimer);
+            log.info("Launched browser for {} in {} ms", getName(), TimeUnit.NANOSECONDS.toMillis(launchNanos));
+        }
+
+        private void recycle(String reason) {
+            log.info("Recycling browser of {}: {}", getName(), reason);
+            recycledBrowsers.increment();
+            close();
+        }
+
+        private void close() {
+            try {
+                if (playwright != null) {
+                    // Closing Playwright also closes its browser, context and page
+                    playwright.close();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to close browser of {}: {}", getName(), e.getMessage());
+            } finally {
+                playwright = null;
+                browser = null;
+                context = null;
+                page = null;
+            }
+        }
+    }
+}
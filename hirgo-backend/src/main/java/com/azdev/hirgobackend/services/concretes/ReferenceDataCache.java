@@ -0,0 +1,160 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.dtos.category.response.CategoryListResponse;
+import com.azdev.hirgobackend.dtos.category.response.CategoryResponse;
+import com.azdev.hirgobackend.dtos.lookup.LookupResponse;
+import com.azdev.hirgobackend.mappers.CategoryMapper;
+import com.azdev.hirgobackend.mappers.LookupMapper;
+import com.azdev.hirgobackend.models.category.Category;
+import com.azdev.hirgobackend.models.lookup.Lookup;
+import com.azdev.hirgobackend.repositories.CategoryRepository;
+import com.azdev.hirgobackend.repositories.LookupRepository;
+import com.azdev.hirgobackend.repositories.ReferenceDataVersionRepository;
+import com.azdev.hirgobackend.repositories.ReferenceDataVersionRepository.VersionRow;
+import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Lookups and categories, answered from memory. They change a few times a year, so everything is loaded at
+ * startup into an immutable snapshot, and a new snapshot is swapped in when the reference_data_version row,
+ * which triggers bump on every write to either table, moves on. The version doubles as the ETag of the
+ * responses built from the snapshot.
+ */
+@Slf4j
+@Service
+public class ReferenceDataCache {
+
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final LookupRepository lookupRepository;
+    private final CategoryRepository categoryRepository;
+    private final ReferenceDataVersionRepository versionRepository;
+    private final LookupMapper lookupMapper;
+    private final CategoryMapper categoryMapper;
+
+    private final Object reloadLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataCache(LookupRepository lookupRepository,
+                              CategoryRepository categoryRepository,
+                              ReferenceDataVersionRepository versionRepository,
+                              LookupMapper lookupMapper,
+                              CategoryMapper categoryMapper) {
+        this.lookupRepository = lookupRepository;
+        this.categoryRepository = categoryRepository;
+        this.versionRepository = versionRepository;
+        this.lookupMapper = lookupMapper;
+        this.categoryMapper = categoryMapper;
+    }
+
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${reference-data.version-poll-interval-ms:30000}")
+    public void checkVersion() {
+        try {
+            Optional<VersionRow> version = versionRepository.findVersion();
+            if (version.isPresent() && version.get().getVersion() != snapshot.version()) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to check the reference data version: {}", e.getMessage());
+        }
+    }
+
+    public void reload() {
+        synchronized (reloadLock) {
+            // The version is read before the rows, so a write in between leaves the snapshot labelled older
+            // than its data and the next check loads it again, never the other way around
+            Optional<VersionRow> version = versionRepository.findVersion();
+            List<Lookup> lookups = lookupRepository.findAll(BY_ID);
+            List<Category> categories = categoryRepository.findAll(BY_ID);
+
+            snapshot = build(
+                    version.map(VersionRow::getVersion).orElse(0L),
+                    version.map(v -> v.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant())
+                            .orElseGet(Instant::now)
+                            .truncatedTo(ChronoUnit.SECONDS),
+                    lookups,
+                    categories);
+            log.info("Loaded reference data version {}: {} lookups, {} categories",
+                    snapshot.version(), lookups.size(), categories.size());
+        }
+    }
+
+    private Snapshot build(long version, Instant lastModified, List<Lookup> lookups, List<Category> categories) {
+        Map<Long, LookupResponse> lookupsById = new HashMap<>(lookups.size() * 2);
+        Map<String, List<LookupResponse>> lookupsByType = new HashMap<>();
+        for (Lookup lookup : lookups) {
+            LookupResponse response = lookupMapper.toResponse(lookup);
+            lookupsById.put(lookup.getId(), response);
+            if (lookup.getType() != null) {
+                lookupsByType.computeIfAbsent(lookup.getType(), type -> new ArrayList<>()).add(response);
+            }
+        }
+        lookupsByType.replaceAll((type, responses) -> List.copyOf(responses));
+
+        Map<Long, CategoryResponse> categoriesById = new HashMap<>(categories.size() * 2);
+        List<CategoryResponse> categoryResponses = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            CategoryResponse response = categoryMapper.toResponse(category);
+            categoriesById.put(category.getId(), response);
+            categoryResponses.add(response);
+        }
+
+        return new Snapshot(version, lastModified, Map.copyOf(lookupsById), Map.copyOf(lookupsByType),
+                Map.copyOf(categoriesById), new CategoryListResponse(List.copyOf(categoryResponses)));
+    }
+
+    /**
+     * One version of the lookups and categories, never modified once built. Lists keep the id order.
+     */
+    public record Snapshot(long version,
+                           Instant lastModified,
+                           Map<Long, LookupResponse> lookupsById,
+                           Map<String, List<LookupResponse>> lookupsByType,
+                           Map<Long, CategoryResponse> categoriesById,
+                           CategoryListResponse categories) {
+
+        public String etag() {
+            return "\"" + version + "\"";
+        }
+
+        public List<LookupResponse> lookupsByType(String type) {
+            return lookupsByType.getOrDefault(type, List.of());
+        }
+
+        /**
+         * Tags the response with this version; Spring answers a matching If-None-Match or If-Modified-Since
+         * with 304. The body is computed after the snapshot was taken, so a reload in between can only tag a
+         * newer body with an older version, which the client revalidates again.
+         */
+        public <T> ResponseEntity<T> revalidated(Supplier<T> body) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePublic())
+                    .eTag(etag())
+                    .lastModified(lastModified)
+                    .body(body.get());
+        }
+    }
+}
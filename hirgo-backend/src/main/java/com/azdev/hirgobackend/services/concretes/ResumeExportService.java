@@ -0,0 +1,232 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.PdfRenderProperties;
+import com.azdev.hirgobackend.enums.PdfJobStatus;
+import com.azdev.hirgobackend.exceptions.domain.pdf.PdfRenderRejectedException;
+import com.azdev.hirgobackend.exceptions.domain.resume.ResumeExportTooLargeException;
+import com.azdev.hirgobackend.exceptions.domain.resume.ResumeTemplateNotFoundException;
+import com.azdev.hirgobackend.models.resume.Resume;
+import com.azdev.hirgobackend.repositories.ResumeRepository;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Renders many of a user's stored resumes into one ZIP archive that is streamed as the PDFs complete.
+ * At most {@code pdf.render.batch-parallelism} renders of an export are in flight at a time, and each
+ * PDF is written to the archive and dropped as soon as it arrives, so memory stays bounded by the
+ * parallelism rather than the batch size. The outcome of every resume is listed in manifest.json.
+ */
+@Slf4j
+@Service
+public class ResumeExportService {
+
+    private static final String MANIFEST_NAME = "manifest.json";
+    // Submissions rejected because the render queue was full, before a resume is reported as failed
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ResumeRepository resumeRepository;
+    private final ResumeTemplateService resumeTemplateService;
+    private final PdfGenerationService pdfGenerationService;
+    private final PdfRenderProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public ResumeExportService(ResumeRepository resumeRepository,
+                               ResumeTemplateService resumeTemplateService,
+                               PdfGenerationService pdfGenerationService,
+                               PdfRenderProperties properties,
+                               ObjectMapper objectMapper) {
+        this.resumeRepository = resumeRepository;
+        this.resumeTemplateService = resumeTemplateService;
+        this.pdfGenerationService = pdfGenerationService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Load the resumes and assemble their HTML now, so request errors surface before any byte is streamed
+     *
+     * @param resumeIds The resumes to export, duplicates are ignored
+     * @param userId Owner of the resumes; resumes of other users are reported as not found
+     * @return Writes the archive when the response is streamed
+     * @throws ResumeExportTooLargeException if more resumes are requested than one export allows
+     */
+    public StreamingResponseBody export(List<Long> resumeIds, UUID userId) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(resumeIds));
+        if (ids.size() > properties.getBatchMaxItems()) {
+            throw new ResumeExportTooLargeException(properties.getBatchMaxItems());
+        }
+
+        Map<Long, Resume> resumes = resumeRepository.findByIdInAndUserId(ids, userId).stream()
+                .collect(Collectors.toMap(Resume::getId, Function.identity()));
+        List<ExportItem> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ExportItem item = new ExportItem(id);
+            Resume resume = resumes.get(id);
+            if (resume == null) {
+                item.error = "Resume not found";
+            } else {
+                try {
+                    item.html = resumeTemplateService.renderHtml(resume.getTemplateId(), resume.getData());
+                    item.cacheKey = pdfGenerationService.cacheKey(item.html);
+                } catch (ResumeTemplateNotFoundException e) {
+                    item.error = e.getMessage();
+                }
+            }
+            items.add(item);
+        }
+        return out -> write(items, out);
+    }
+
+    private void write(List<ExportItem> items, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Map<Long, ManifestEntry> outcomes = new HashMap<>();
+        Deque<ExportItem> pending = new ArrayDeque<>();
+        for (ExportItem item : items) {
+            if (item.error != null) {
+                outcomes.put(item.resumeId, ManifestEntry.failed(item.resumeId, item.error));
+            } else {
+                pending.add(item);
+            }
+        }
+
+        BlockingQueue<Rendered> completed = new LinkedBlockingQueue<>();
+        int parallelism = Math.max(1, properties.getBatchParallelism());
+        int inFlight = 0;
+        while (!pending.isEmpty() || inFlight > 0) {
+            while (inFlight < parallelism && !pending.isEmpty() && start(pending.peek(), completed)) {
+                pending.poll();
+                inFlight++;
+            }
+
+            if (inFlight == 0) {
+                // The render queue is full of other work; back off before trying the same resume again
+                ExportItem item = pending.poll();
+                if (++item.attempts >= MAX_ATTEMPTS) {
+                    outcomes.put(item.resumeId, ManifestEntry.failed(item.resumeId, "PDF renderer is busy"));
+                } else {
+                    pending.addFirst(item);
+                    pause(properties.getRetryAfterSeconds() * 1000L);
+                }
+                continue;
+            }
+
+            Rendered rendered = take(completed);
+            inFlight--;
+            ExportItem item = rendered.item();
+            if (rendered.error() != null) {
+                log.warn("Batch export failed to render resume {}: {}", item.resumeId, rendered.error().getMessage());
+                outcomes.put(item.resumeId, ManifestEntry.failed(item.resumeId, "Failed to render PDF"));
+                continue;
+            }
+            String fileName = "resume-" + item.resumeId + ".pdf";
+            writeEntry(zip, fileName, rendered.pdf());
+            // Push each PDF to the client as soon as it is in the archive
+            zip.flush();
+            outcomes.put(item.resumeId, ManifestEntry.completed(item.resumeId, fileName, rendered.pdf().length));
+        }
+
+        List<ManifestEntry> manifest = items.stream().map(item -> outcomes.get(item.resumeId)).toList();
+        writeEntry(zip, MANIFEST_NAME, objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValueAsBytes(Map.of("resumes", manifest)));
+        zip.finish();
+    }
+
+    /**
+     * @return false if the render queue is full and the item was not started
+     */
+    private boolean start(ExportItem item, BlockingQueue<Rendered> completed) {
+        Optional<byte[]> cached = pdfGenerationService.findCached(item.cacheKey);
+        if (cached.isPresent()) {
+            completed.add(new Rendered(item, cached.get(), null));
+            return true;
+        }
+        try {
+            pdfGenerationService.submitRender(item.html, item.cacheKey).result()
+                    .whenComplete((pdf, error) -> completed.add(new Rendered(item, pdf, error)));
+            return true;
+        } catch (PdfRenderRejectedException e) {
+            return false;
+        }
+    }
+
+    // PDFs are already compressed, so entries are stored as is
+    private static void writeEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCompressedSize(content.length);
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static Rendered take(BlockingQueue<Rendered> completed) throws IOException {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for PDF render");
+        }
+    }
+
+    private static void pause(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for PDF renderer");
+        }
+    }
+
+    private static final class ExportItem {
+        private final Long resumeId;
+        private String html;
+        private String cacheKey;
+        private String error;
+        private int attempts;
+
+        private ExportItem(Long resumeId) {
+            this.resumeId = resumeId;
+        }
+    }
+
+    private record Rendered(ExportItem item, byte[] pdf, Throwable error) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private record ManifestEntry(Long resumeId, PdfJobStatus status, String file, Integer sizeBytes, String error) {
+
+        static ManifestEntry completed(Long resumeId, String file, int sizeBytes) {
+            return new ManifestEntry(resumeId, PdfJobStatus.COMPLETED, file, sizeBytes, null);
+        }
+
+        static ManifestEntry failed(Long resumeId, String error) {
+            return new ManifestEntry(resumeId, PdfJobStatus.FAILED, null, null, error);
+        }
+    }
+}
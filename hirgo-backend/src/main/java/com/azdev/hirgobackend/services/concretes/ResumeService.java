@@ -21,6 +21,7 @@ import java.util.stream.Collectors;
 public class ResumeService {
 
     private final ResumeRepository resumeRepository;
+    private final ResumeTemplateService resumeTemplateService;
 
 
     @Transactional
@@ -87,6 +88,16 @@ public class ResumeService {
         return mapToResponse(updatedResume);
     }
 
+    /**
+     * Assemble the printable HTML of a stored resume from its template and data
+     */
+    @Transactional(readOnly = true)
+    public String buildResumeHtml(Long resumeId, UUID userId) {
+        Resume resume = resumeRepository.findByIdAndUserId(resumeId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Resume not found with id: " + resumeId));
+        return resumeTemplateService.renderHtml(resume.getTemplateId(), resume.getData());
+    }
+
     @Transactional
     public void deleteResume(Long resumeId, UUID userId) {
         Resume resume = resumeRepository.findByIdAndUserId(resumeId, userId)
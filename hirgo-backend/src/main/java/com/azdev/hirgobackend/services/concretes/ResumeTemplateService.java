@@ -0,0 +1,75 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.exceptions.domain.resume.ResumeTemplateNotFoundException;
+import com.azdev.hirgobackend.utils.HtmlTemplate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resume HTML templates, one per frontend template id (ui1, ui2, ...), compiled once at startup.
+ * The templates carry their own CSS and load nothing from the network, so the rendered PDF depends
+ * only on the template and the resume data.
+ */
+@Slf4j
+@Service
+public class ResumeTemplateService {
+
+    private static final String TEMPLATE_LOCATION = "classpath*:templates/resume/*.html";
+    private static final String TEMPLATE_SUFFIX = ".html";
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, HtmlTemplate> templates = new HashMap<>();
+
+    public ResumeTemplateService(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void compileTemplates() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(TEMPLATE_LOCATION);
+        for (Resource resource : resources) {
+            String filename = resource.getFilename();
+            if (filename == null) {
+                continue;
+            }
+            String templateId = filename.substring(0, filename.length() - TEMPLATE_SUFFIX.length());
+            String source = resource.getContentAsString(StandardCharsets.UTF_8);
+            // A broken template fails startup rather than the first download
+            templates.put(templateId, HtmlTemplate.compile(templateId, source));
+        }
+        log.info("Compiled {} resume templates: {}", templates.size(), templates.keySet());
+    }
+
+    public boolean hasTemplate(String templateId) {
+        return templates.containsKey(templateId);
+    }
+
+    /**
+     * @param templateId The resume's template id
+     * @param data The resume's JSON data
+     * @return The complete HTML document
+     * @throws ResumeTemplateNotFoundException if there is no template with the id
+     */
+    public String renderHtml(String templateId, String data) {
+        HtmlTemplate template = templates.get(templateId);
+        if (template == null) {
+            throw new ResumeTemplateNotFoundException(templateId);
+        }
+        try {
+            JsonNode tree = data == null ? objectMapper.createObjectNode() : objectMapper.readTree(data);
+            return template.render(tree);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored resume data is not valid JSON", e);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.VacancySearchProperties;
+import com.azdev.hirgobackend.dtos.vacancy.response.jobseeker.AutocompleteSuggestionResponse;
+import com.azdev.hirgobackend.enums.AutocompleteSuggestionType;
+import com.azdev.hirgobackend.models.company.Company;
+import com.azdev.hirgobackend.models.vacancy.Vacancy;
+import com.azdev.hirgobackend.repositories.CompanyRepository;
+import com.azdev.hirgobackend.repositories.JobSeekerVacancyRepository;
+import com.azdev.hirgobackend.repositories.JobSeekerVacancyRepository.AutocompleteRow;
+import com.azdev.hirgobackend.repositories.JobSeekerVacancyRepository.AutocompleteSkillRow;
+import com.azdev.hirgobackend.utils.PrefixTrie;
+import com.azdev.hirgobackend.utils.SearchText;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Search box suggestions from vacancy titles, required skills and company names, answered from memory.
+ * Each suggestion is weighted by the views of the vacancies it appears in, plus one per vacancy, and can
+ * be found by a prefix of any of its words ("java" suggests "Senior Java Developer").
+ * Vacancy writes on this node update the weights right away and a new trie is swapped in on the next
+ * refresh tick; a periodic full reload picks up view counts and writes from other nodes.
+ */
+@Slf4j
+@Service
+public class VacancyAutocompleteService {
+
+    // Keys longer than anyone types are cut, which keeps the trie small
+    private static final int MAX_KEY_LENGTH = 48;
+    private static final int MAX_WORDS_PER_SUGGESTION = 8;
+
+    private final JobSeekerVacancyRepository repository;
+    private final CompanyRepository companyRepository;
+    private final VacancySearchProperties properties;
+
+    // Guarded by this
+    private final Map<String, VacancyTerms> byVacancy = new HashMap<>();
+    private final Map<SuggestionKey, Suggestion> suggestions = new HashMap<>();
+    private final Map<Long, String> companyNames = new HashMap<>();
+    // Changes seen while a reload reads the database, replayed onto the reloaded state
+    private List<VacancyTerms> changesDuringReload;
+    private boolean dirty;
+    private boolean reloadRequested;
+    private long generation;
+
+    // Held for a whole reload, so two reloads never share changesDuringReload
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final Object swapLock = new Object();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public VacancyAutocompleteService(JobSeekerVacancyRepository repository,
+                                      CompanyRepository companyRepository,
+                                      VacancySearchProperties properties) {
+        this.repository = repository;
+        this.companyRepository = companyRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * @param prefix What the user has typed so far
+     * @param limit Maximum number of suggestions, capped by {@code vacancy.search.autocomplete-max-results}
+     */
+    public List<AutocompleteSuggestionResponse> suggest(String prefix, int limit) {
+        String key = SearchText.fold(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        int[] ids = current.trie().top(key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key);
+        int count = Math.max(0, Math.min(ids.length, Math.min(limit, properties.getAutocompleteMaxResults())));
+        List<AutocompleteSuggestionResponse> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(current.suggestions()[ids[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Add or replace the terms of a vacancy written by this node
+     */
+    public void index(Vacancy vacancy) {
+        String companyName = companyName(vacancy.getCompanyId());
+        synchronized (this) {
+            VacancyTerms previous = byVacancy.get(vacancy.getId());
+            // Views are only known from the last reload; a new vacancy starts without any
+            long weight = previous != null ? previous.weight() : 1;
+            record(new VacancyTerms(vacancy.getId(), vacancy.getCompanyId(), vacancy.getTitle(), companyName,
+                    vacancy.getDescription() != null ? vacancy.getDescription().getRequiredSkills() : null, weight));
+        }
+    }
+
+    public synchronized void remove(String vacancyId) {
+        record(VacancyTerms.removed(vacancyId));
+    }
+
+    /**
+     * Company names are suggestions too; a rename is picked up by a reload on the next refresh tick
+     */
+    public synchronized void companyChanged(Long companyId) {
+        companyNames.remove(companyId);
+        reloadRequested = true;
+    }
+
+    /**
+     * Swap in a trie that reflects the changes since the last one
+     */
+    @Scheduled(fixedDelayString = "${vacancy.search.autocomplete-refresh-interval-ms:1000}")
+    public void refresh() {
+        Entries entries;
+        synchronized (this) {
+            if (reloadRequested) {
+                entries = null;
+            } else if (dirty) {
+                entries = entries();
+            } else {
+                return;
+            }
+        }
+        if (entries == null) {
+            if (!tryReload()) {
+                // The running reload may have read the company before it changed; go again once it is done
+                synchronized (this) {
+                    reloadRequested = true;
+                }
+            }
+        } else {
+            swap(entries);
+        }
+    }
+
+    /**
+     * Rebuild everything from the database. Runs right after startup and then every
+     * {@code vacancy.search.autocomplete-reload-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${vacancy.search.autocomplete-reload-interval-ms:600000}")
+    public void reload() {
+        tryReload();
+    }
+
+    /**
+     * @return False if another reload was already running, in which case this one is skipped
+     */
+    private boolean tryReload() {
+        if (!reloadLock.tryLock()) {
+            return false;
+        }
+        try {
+            load();
+            return true;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void load() {
+        long started = System.currentTimeMillis();
+        synchronized (this) {
+            reloadRequested = false;
+            changesDuringReload = new ArrayList<>();
+        }
+
+        List<VacancyTerms> loaded = new ArrayList<>();
+        try {
+            Map<String, List<String>> skills = new HashMap<>();
+            for (AutocompleteSkillRow row : repository.findAllRequiredSkillsForAutocomplete()) {
+                skills.computeIfAbsent(row.getVacancyId(), id -> new ArrayList<>()).add(row.getSkill());
+            }
+            for (AutocompleteRow row : repository.findAllForAutocomplete()) {
+                List<String> vacancySkills = skills.getOrDefault(row.getId(), List.of());
+                loaded.add(new VacancyTerms(row.getId(), row.getCompanyId(), row.getTitle(), row.getCompanyName(),
+                        vacancySkills.toArray(String[]::new), 1 + (row.getViews() != null ? row.getViews() : 0)));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to reload vacancy autocomplete: {}", e.getMessage());
+            synchronized (this) {
+                changesDuringReload = null;
+            }
+            return;
+        }
+
+        Entries entries;
+        synchronized (this) {
+            byVacancy.clear();
+            suggestions.clear();
+            companyNames.clear();
+            loaded.forEach(this::apply);
+            changesDuringReload.forEach(this::apply);
+            changesDuringReload = null;
+            entries = entries();
+        }
+        swap(entries);
+        log.info("Loaded {} autocomplete suggestions from {} vacancies in {} ms",
+                entries.list().size(), loaded.size(), System.currentTimeMillis() - started);
+    }
+
+    // Called with the lock held; copies the suggestions so the trie can be built without it
+    private Entries entries() {
+        dirty = false;
+        List<Entry> list = new ArrayList<>(suggestions.size());
+        suggestions.forEach((key, suggestion) -> list.add(new Entry(key, suggestion.text, suggestion.weight)));
+        return new Entries(++generation, list);
+    }
+
+    private void swap(Entries entries) {
+        List<Entry> list = entries.list();
+        AutocompleteSuggestionResponse[] table = new AutocompleteSuggestionResponse[list.size()];
+        long[] weights = new long[list.size()];
+        List<PrefixTrie.Key> trieKeys = new ArrayList<>();
+        for (int id = 0; id < table.length; id++) {
+            Entry entry = list.get(id);
+            table[id] = new AutocompleteSuggestionResponse(entry.text(), entry.key().type());
+            weights[id] = entry.weight();
+            addWordKeys(entry.key().folded(), id, trieKeys);
+        }
+        Snapshot built = new Snapshot(entries.generation(),
+                PrefixTrie.build(trieKeys, weights, properties.getAutocompleteMaxResults()), table);
+        synchronized (swapLock) {
+            // A refresh and a reload may build at the same time; the later copy wins
+            if (built.generation() > snapshot.generation()) {
+                snapshot = built;
+            }
+        }
+    }
+
+    /**
+     * One key per word start, so any word of the suggestion can begin the typed prefix
+     */
+    private static void addWordKeys(String folded, int id, List<PrefixTrie.Key> keys) {
+        int words = 0;
+        for (int start = 0; start < folded.length() && words < MAX_WORDS_PER_SUGGESTION; start++) {
+            if (start == 0 || folded.charAt(start - 1) == ' ') {
+                keys.add(new PrefixTrie.Key(folded.substring(start, Math.min(folded.length(), start + MAX_KEY_LENGTH)), id));
+                words++;
+            }
+        }
+    }
+
+    // Called with the lock held
+    private void record(VacancyTerms terms) {
+        apply(terms);
+        if (changesDuringReload != null) {
+            changesDuringReload.add(terms);
+        }
+    }
+
+    // Called with the lock held
+    private void apply(VacancyTerms terms) {
+        VacancyTerms previous = byVacancy.remove(terms.vacancyId());
+        if (previous != null) {
+            contribute(previous, -1);
+        }
+        if (terms.title() != null || terms.companyName() != null || terms.skills() != null) {
+            byVacancy.put(terms.vacancyId(), terms);
+            contribute(terms, 1);
+            if (terms.companyId() != null && terms.companyName() != null) {
+                companyNames.put(terms.companyId(), terms.companyName());
+            }
+        }
+        dirty = true;
+    }
+
+    private void contribute(VacancyTerms terms, int sign) {
+        add(AutocompleteSuggestionType.TITLE, terms.title(), terms.weight(), sign);
+        add(AutocompleteSuggestionType.COMPANY, terms.companyName(), terms.weight(), sign);
+        if (terms.skills() != null) {
+            // A skill listed twice in one vacancy counts once
+            Set<String> distinct = new LinkedHashSet<>();
+            for (String skill : terms.skills()) {
+                if (skill != null && distinct.add(SearchText.fold(skill))) {
+                    add(AutocompleteSuggestionType.SKILL, skill, terms.weight(), sign);
+                }
+            }
+        }
+    }
+
+    private void add(AutocompleteSuggestionType type, String text, long weight, int sign) {
+        if (text == null) {
+            return;
+        }
+        String folded = SearchText.fold(text);
+        if (folded.isEmpty()) {
+            return;
+        }
+        SuggestionKey key = new SuggestionKey(type, folded);
+        Suggestion suggestion = suggestions.computeIfAbsent(key, k -> new Suggestion());
+        suggestion.weight += sign * weight;
+        suggestion.vacancies += sign;
+        if (sign > 0) {
+            suggestion.text = text.strip();
+        }
+        if (suggestion.vacancies <= 0) {
+            suggestions.remove(key);
+        }
+    }
+
+    private String companyName(Long companyId) {
+        if (companyId == null) {
+            return null;
+        }
+        synchronized (this) {
+            String cached = companyNames.get(companyId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return companyRepository.findById(companyId).map(Company::getName).orElse(null);
+    }
+
+    /**
+     * What one vacancy contributes to the suggestions; all text null means the vacancy was removed
+     */
+    private record VacancyTerms(String vacancyId, Long companyId, String title, String companyName,
+                                String[] skills, long weight) {
+
+        static VacancyTerms removed(String vacancyId) {
+            return new VacancyTerms(vacancyId, null, null, null, null, 0);
+        }
+    }
+
+    private record SuggestionKey(AutocompleteSuggestionType type, String folded) {
+    }
+
+    private static final class Suggestion {
+        private String text;
+        private long weight;
+        private int vacancies;
+    }
+
+    private record Entry(SuggestionKey key, String text, long weight) {
+    }
+
+    private record Entries(long generation, List<Entry> list) {
+    }
+
+    private record Snapshot(long generation, PrefixTrie trie, AutocompleteSuggestionResponse[] suggestions) {
+        static final Snapshot EMPTY = new Snapshot(0, PrefixTrie.build(List.of(), new long[0], 0),
+                new AutocompleteSuggestionResponse[0]);
+    }
+}
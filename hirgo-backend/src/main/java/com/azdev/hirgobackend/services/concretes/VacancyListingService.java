@@ -0,0 +1,101 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.VacancySearchProperties;
+import com.azdev.hirgobackend.repositories.VacancyListingRepository;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps vacancy_listings, the denormalized read model behind every job-seeker listing and details query,
+ * in step with the vacancies. The service layer refreshes a row whenever a vacancy or its company is
+ * written and the view count buffer updates view counts as it flushes them. A periodic backfill covers
+ * vacancies whose refresh failed, and a nightly resync picks up category and lookup labels, which the
+ * application never writes.
+ */
+@Slf4j
+@Service
+public class VacancyListingService {
+
+    private final VacancyListingRepository listingRepository;
+    private final VacancySearchProperties properties;
+
+    public VacancyListingService(VacancyListingRepository listingRepository, VacancySearchProperties properties) {
+        this.listingRepository = listingRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Rewrite the listing row of a vacancy that was just saved. A failure is logged and left to the backfill,
+     * so it never fails the write itself.
+     */
+    public void refresh(String vacancyId) {
+        try {
+            listingRepository.refresh(new String[]{vacancyId});
+        } catch (Exception e) {
+            log.warn("Failed to refresh listing of vacancy {}: {}", vacancyId, e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrite the listing rows of every vacancy of a company, after its name or logo changed
+     */
+    public void refreshCompany(Long companyId) {
+        try {
+            listingRepository.refreshCompany(companyId);
+        } catch (Exception e) {
+            log.warn("Failed to refresh vacancy listings of company {}: {}", companyId, e.getMessage());
+        }
+    }
+
+    /**
+     * List vacancies that have no listing row yet, one batch at a time
+     */
+    @Scheduled(fixedDelayString = "${vacancy.search.listing-backfill-interval-ms:60000}")
+    public void backfill() {
+        int batchSize = properties.getListingBackfillBatchSize();
+        int written = 0;
+        try {
+            List<String> ids;
+            do {
+                ids = listingRepository.findIdsWithoutListing(batchSize);
+                if (ids.isEmpty() || listingRepository.refresh(ids.toArray(String[]::new)) == 0) {
+                    break;
+                }
+                written += ids.size();
+            } while (ids.size() == batchSize);
+        } catch (Exception e) {
+            log.warn("Failed to backfill vacancy listings: {}", e.getMessage());
+        }
+        if (written > 0) {
+            log.info("Backfilled {} vacancy listings", written);
+        }
+    }
+
+    /**
+     * Rebuild every listing row from the source tables, one batch per statement
+     */
+    @Scheduled(cron = "${vacancy.search.listing-resync-cron:0 45 3 * * *}")
+    public void resync() {
+        long started = System.currentTimeMillis();
+        int batchSize = properties.getListingBackfillBatchSize();
+        int written = 0;
+        String after = "";
+        try {
+            List<String> ids;
+            do {
+                ids = listingRepository.findIdsAfter(after, batchSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                written += listingRepository.refresh(ids.toArray(String[]::new));
+                after = ids.get(ids.size() - 1);
+            } while (ids.size() == batchSize);
+        } catch (Exception e) {
+            log.warn("Failed to resync vacancy listings after {}: {}", after, e.getMessage());
+            return;
+        }
+        log.info("Resynced {} vacancy listings in {} ms", written, System.currentTimeMillis() - started);
+    }
+}
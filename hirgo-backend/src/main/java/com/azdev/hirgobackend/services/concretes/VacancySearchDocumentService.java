@@ -0,0 +1,124 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.VacancySearchProperties;
+import com.azdev.hirgobackend.models.company.Company;
+import com.azdev.hirgobackend.models.vacancy.Description;
+import com.azdev.hirgobackend.models.vacancy.Vacancy;
+import com.azdev.hirgobackend.repositories.CompanyRepository;
+import com.azdev.hirgobackend.repositories.VacancyRepository;
+import com.azdev.hirgobackend.repositories.VacancySearchDocumentRepository;
+import com.azdev.hirgobackend.utils.SearchText;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps vacancy_search_documents, the full-text read model behind keyword search, in step with the
+ * vacancies. The service layer refreshes a document whenever a vacancy or its company is written, and a
+ * periodic backfill covers vacancies that predate the read model or whose refresh failed.
+ */
+@Slf4j
+@Service
+public class VacancySearchDocumentService {
+
+    private final VacancySearchDocumentRepository searchDocumentRepository;
+    private final VacancyRepository vacancyRepository;
+    private final CompanyRepository companyRepository;
+    private final VacancySearchProperties properties;
+
+    public VacancySearchDocumentService(VacancySearchDocumentRepository searchDocumentRepository,
+                                        VacancyRepository vacancyRepository,
+                                        CompanyRepository companyRepository,
+                                        VacancySearchProperties properties) {
+        this.searchDocumentRepository = searchDocumentRepository;
+        this.vacancyRepository = vacancyRepository;
+        this.companyRepository = companyRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Rewrite the document of a vacancy that was just saved. A failure is logged and left to the backfill,
+     * so it never fails the write itself.
+     */
+    public void refresh(Vacancy vacancy) {
+        try {
+            String companyName = vacancy.getCompanyId() == null ? null : companyRepository.findById(vacancy.getCompanyId())
+                    .map(Company::getName)
+                    .orElse(null);
+            write(vacancy, companyName);
+        } catch (Exception e) {
+            log.warn("Failed to refresh search document of vacancy {}: {}", vacancy.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrite the documents of every vacancy of a company, after its name changed
+     */
+    public void refreshCompany(Long companyId) {
+        try {
+            refreshAll(searchDocumentRepository.findIdsByCompanyId(companyId));
+        } catch (Exception e) {
+            log.warn("Failed to refresh search documents of company {}: {}", companyId, e.getMessage());
+        }
+    }
+
+    /**
+     * Index vacancies that have no search document yet, one batch at a time
+     */
+    @Scheduled(fixedDelayString = "${vacancy.search.text-backfill-interval-ms:600000}")
+    public void backfill() {
+        int batchSize = properties.getTextBackfillBatchSize();
+        int indexed = 0;
+        try {
+            List<String> ids;
+            do {
+                ids = searchDocumentRepository.findIdsWithoutDocument(batchSize);
+                if (refreshAll(ids) == 0) {
+                    break;
+                }
+                indexed += ids.size();
+            } while (ids.size() == batchSize);
+        } catch (Exception e) {
+            log.warn("Failed to backfill vacancy search documents: {}", e.getMessage());
+        }
+        if (indexed > 0) {
+            log.info("Backfilled {} vacancy search documents", indexed);
+        }
+    }
+
+    /**
+     * @return Number of documents written
+     */
+    private int refreshAll(List<String> vacancyIds) {
+        if (vacancyIds.isEmpty()) {
+            return 0;
+        }
+        List<Vacancy> vacancies = vacancyRepository.findAllById(vacancyIds);
+        Set<Long> companyIds = vacancies.stream()
+                .map(Vacancy::getCompanyId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, String> companyNames = new HashMap<>();
+        companyRepository.findAllById(companyIds).forEach(company -> companyNames.put(company.getId(), company.getName()));
+        vacancies.forEach(vacancy -> write(vacancy, companyNames.get(vacancy.getCompanyId())));
+        return vacancies.size();
+    }
+
+    private void write(Vacancy vacancy, String companyName) {
+        Description description = vacancy.getDescription();
+        String skills = description == null ? ""
+                : SearchText.fold(description.getRequiredSkills()) + " " + SearchText.fold(description.getPreferredSkills());
+        String responsibilities = description == null ? "" : SearchText.fold(description.getResponsibilities());
+        searchDocumentRepository.upsert(vacancy.getId(),
+                SearchText.fold(vacancy.getTitle()),
+                SearchText.fold(companyName),
+                skills,
+                responsibilities);
+    }
+}
@@ -0,0 +1,634 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.VacancySearchProperties;
+import com.azdev.hirgobackend.enums.VacancyFacet;
+import com.azdev.hirgobackend.models.vacancy.Vacancy;
+import com.azdev.hirgobackend.repositories.JobSeekerVacancyRepository;
+import com.azdev.hirgobackend.repositories.JobSeekerVacancyRepository.SearchIndexLanguageSkillRow;
+import com.azdev.hirgobackend.repositories.JobSeekerVacancyRepository.SearchIndexRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory inverted index over the vacancies a job seeker can find.
+ * Every vacancy gets a dense document number; each facet value keeps a bitmap of the documents that carry
+ * it, and salaries and posting dates are kept sorted, so any filter combination is answered by bitmap
+ * intersections and Postgres only loads the rows of the requested page.
+ * The index is rebuilt from the database on a schedule and patched in place when this node writes a
+ * vacancy, moving only that vacancy within the sort orders. Until the first build completes, or when it
+ * is disabled, searches return empty and callers fall back to SQL.
+ */
+@Slf4j
+@Service
+public class VacancySearchIndex {
+
+    // Below this share of matching documents, sorting the matches beats walking the whole order
+    private static final int SPARSE_RATIO = 16;
+
+    private final JobSeekerVacancyRepository repository;
+    private final VacancySearchProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock; null until the first build completes
+    private State state;
+    // Writes seen while a rebuild reads the database, replayed onto the new state before it is swapped in
+    private List<Document> writesDuringRebuild;
+
+    public VacancySearchIndex(JobSeekerVacancyRepository repository,
+                              VacancySearchProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        Gauge.builder("vacancy.search.index.documents", this, VacancySearchIndex::size)
+                .description("Vacancies held in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Filter over the indexed attributes; null fields do not constrain the result
+     */
+    public record Query(Map<VacancyFacet, Long> terms, Long minSalary, Long maxSalary, LocalDateTime postedAfter) {
+    }
+
+    /**
+     * @param ids The vacancy ids of the page, in listing order
+     * @param total Number of vacancies matching the query
+     */
+    public record Result(List<String> ids, long total) {
+    }
+
+    /**
+     * Load every vacancy from the database and swap the new index in.
+     * Runs right after startup and then every {@code vacancy.search.rebuild-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${vacancy.search.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            writesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        State rebuilt = new State();
+        try {
+            Map<String, List<Long>> languageSkills = new HashMap<>();
+            for (SearchIndexLanguageSkillRow row : repository.findAllLanguageSkillsForSearchIndex()) {
+                languageSkills.computeIfAbsent(row.getVacancyId(), id -> new ArrayList<>()).add(row.getLanguageSkillId());
+            }
+            for (SearchIndexRow row : repository.findAllForSearchIndex()) {
+                rebuilt.apply(Document.of(row, languageSkills.getOrDefault(row.getId(), List.of())));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to rebuild vacancy search index: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                writesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            writesDuringRebuild.forEach(rebuilt::apply);
+            writesDuringRebuild = null;
+            rebuilt.sort();
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} vacancies for search in {} ms", rebuilt.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Add or replace a vacancy written by this node
+     */
+    public void index(Vacancy vacancy) {
+        write(Document.of(vacancy));
+    }
+
+    public void remove(String vacancyId) {
+        write(Document.removed(vacancyId));
+    }
+
+    /**
+     * Vacancies matching the query, newest first
+     *
+     * @return Empty if the index is not available and the caller should query the database
+     */
+    public Optional<Result> search(Query query, long offset, int limit) {
+        return read(current -> {
+            BitSet matches = current.match(query);
+            long total = matches.cardinality();
+            List<String> ids = offset >= total
+                    ? List.of()
+                    : current.page(matches, 0, current.listed, (int) offset, limit);
+            return new Result(ids, total);
+        });
+    }
+
+    /**
+     * Vacancies matching the query that come after the cursor in {@code (posted_at DESC, id DESC)} order.
+     *
+     * @return Empty if the index is not available and the caller should query the database
+     */
+    public Optional<List<String>> searchAfter(Query query, LocalDateTime cursorPostedAt, String cursorId, int limit) {
+        return read(current -> {
+            int from = cursorPostedAt == null ? 0 : current.positionAfter(epochMicros(cursorPostedAt), cursorId);
+            return current.page(current.match(query), from, current.listed, 0, limit);
+        });
+    }
+
+    /**
+     * Vacancy counts per facet value for the query, each facet ignoring its own selection
+     *
+     * @return Empty if the index is not available
+     */
+    public Optional<Map<VacancyFacet, Map<Long, Long>>> facetCounts(Query query) {
+        return read(current -> current.facetCounts(query));
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return properties.isEnabled() && state != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Document document) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (state != null) {
+                state.apply(document);
+            }
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> Optional<T> read(Function<State, T> search) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return state == null ? Optional.empty() : Optional.of(search.apply(state));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return state == null ? 0 : state.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Postgres keeps timestamps to the microsecond, so cursors taken from SQL rows compare exactly
+    private static long epochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    /**
+     * The indexed attributes of one vacancy; a document that is not searchable only removes the vacancy
+     */
+    private record Document(String id, Long postedAt, Long salary, Map<VacancyFacet, Long> facets,
+                            List<Long> languageSkills) {
+
+        static Document of(Vacancy vacancy) {
+            if (vacancy.getCompanyId() == null) {
+                return removed(vacancy.getId());
+            }
+            Map<VacancyFacet, Long> facets = new EnumMap<>(VacancyFacet.class);
+            facets.put(VacancyFacet.CATEGORY, vacancy.getCategoryId());
+            facets.put(VacancyFacet.LOCATION_TYPE, vacancy.getLocationTypeId());
+            facets.put(VacancyFacet.EMPLOYMENT_TYPE, vacancy.getEmploymentTypeId());
+            facets.put(VacancyFacet.WORK_SCHEDULE, vacancy.getWorkScheduleId());
+            facets.put(VacancyFacet.EXPERIENCE_LEVEL, vacancy.getExperienceLevelId());
+            facets.put(VacancyFacet.EDUCATION_LEVEL, vacancy.getEducationLevelId());
+            return new Document(vacancy.getId(),
+                    vacancy.getPostedAt() != null ? epochMicros(vacancy.getPostedAt()) : null,
+                    vacancy.getSalary(),
+                    facets,
+                    vacancy.getLanguageSkillsIds() != null ? List.copyOf(vacancy.getLanguageSkillsIds()) : List.of());
+        }
+
+        static Document of(SearchIndexRow row, List<Long> languageSkills) {
+            Map<VacancyFacet, Long> facets = new EnumMap<>(VacancyFacet.class);
+            facets.put(VacancyFacet.CATEGORY, row.getCategoryId());
+            facets.put(VacancyFacet.LOCATION_TYPE, row.getLocationTypeId());
+            facets.put(VacancyFacet.EMPLOYMENT_TYPE, row.getEmploymentTypeId());
+            facets.put(VacancyFacet.WORK_SCHEDULE, row.getWorkScheduleId());
+            facets.put(VacancyFacet.EXPERIENCE_LEVEL, row.getExperienceLevelId());
+            facets.put(VacancyFacet.EDUCATION_LEVEL, row.getEducationLevelId());
+            Timestamp postedAt = row.getPostedAt();
+            return new Document(row.getId(),
+                    postedAt != null ? epochMicros(postedAt.toLocalDateTime()) : null,
+                    row.getSalary(),
+                    facets,
+                    languageSkills);
+        }
+
+        static Document removed(String id) {
+            return new Document(id, null, null, null, null);
+        }
+
+        /**
+         * The filter queries bound the salary from zero even when no range is given, so a vacancy without a
+         * non-negative salary never matches and is kept out of the index. Facet columns are only compared
+         * when their filter is set, so a null one just gets no posting. Undated vacancies are not listed,
+         * see {@link com.azdev.hirgobackend.repositories.JobSeekerVacancyRepository#LISTED}.
+         */
+        boolean searchable() {
+            return facets != null
+                    && postedAt != null
+                    && salary != null && salary >= 0;
+        }
+    }
+
+    private static final class State {
+
+        private final Map<String, Integer> docIds = new HashMap<>();
+        private final List<Document> documents = new ArrayList<>();
+        private final BitSet live = new BitSet();
+        private final EnumMap<VacancyFacet, Map<Long, BitSet>> postings = new EnumMap<>(VacancyFacet.class);
+
+        // Derived from the documents by sort() once the build is loaded, then kept in step by every write
+        private boolean sorted;
+        // Number of live documents; the arrays below are filled up to this length
+        private int listed;
+        // Live documents by (posted_at DESC, id DESC)
+        private int[] order = new int[0];
+        // Position of each document in order
+        private int[] rank = new int[0];
+        private long[] postedAtByPosition = new long[0];
+        // Live documents by salary, with the salaries alongside for binary search
+        private int[] bySalary = new int[0];
+        private long[] salaries = new long[0];
+
+        int size() {
+            return live.cardinality();
+        }
+
+        private void put(Document document) {
+            Integer existing = docIds.get(document.id());
+            int doc;
+            if (existing != null) {
+                doc = existing;
+                unpost(doc);
+                unlist(doc);
+                documents.set(doc, document);
+            } else {
+                doc = documents.size();
+                docIds.put(document.id(), doc);
+                documents.add(document);
+            }
+            live.set(doc);
+            document.facets().forEach((facet, value) -> post(facet, value, doc));
+            document.languageSkills().forEach(skill -> post(VacancyFacet.LANGUAGE_SKILL, skill, doc));
+            list(doc);
+        }
+
+        void apply(Document document) {
+            if (document.searchable()) {
+                put(document);
+                return;
+            }
+            Integer doc = docIds.get(document.id());
+            if (doc != null && live.get(doc)) {
+                unpost(doc);
+                unlist(doc);
+                live.clear(doc);
+            }
+        }
+
+        private void post(VacancyFacet facet, Long value, int doc) {
+            if (value != null) {
+                postings.computeIfAbsent(facet, f -> new HashMap<>()).computeIfAbsent(value, v -> new BitSet()).set(doc);
+            }
+        }
+
+        private void unpost(int doc) {
+            Document previous = documents.get(doc);
+            if (previous.facets() == null) {
+                return;
+            }
+            previous.facets().forEach((facet, value) -> unpost(facet, value, doc));
+            previous.languageSkills().forEach(skill -> unpost(VacancyFacet.LANGUAGE_SKILL, skill, doc));
+        }
+
+        private void unpost(VacancyFacet facet, Long value, int doc) {
+            Map<Long, BitSet> values = postings.get(facet);
+            BitSet bits = value != null && values != null ? values.get(value) : null;
+            if (bits != null) {
+                bits.clear(doc);
+                if (bits.isEmpty()) {
+                    values.remove(value);
+                }
+            }
+        }
+
+        /**
+         * Insert a live document into both sort orders, shifting the positions after it
+         */
+        private void list(int doc) {
+            if (!sorted) {
+                return;
+            }
+            Document document = documents.get(doc);
+            if (listed == order.length) {
+                int capacity = Math.max(16, listed + (listed >> 1));
+                order = Arrays.copyOf(order, capacity);
+                postedAtByPosition = Arrays.copyOf(postedAtByPosition, capacity);
+                bySalary = Arrays.copyOf(bySalary, capacity);
+                salaries = Arrays.copyOf(salaries, capacity);
+            }
+            if (rank.length < documents.size()) {
+                rank = Arrays.copyOf(rank, Math.max(documents.size(), rank.length + (rank.length >> 1)));
+            }
+
+            int position = positionAfter(document.postedAt(), document.id());
+            System.arraycopy(order, position, order, position + 1, listed - position);
+            System.arraycopy(postedAtByPosition, position, postedAtByPosition, position + 1, listed - position);
+            order[position] = doc;
+            postedAtByPosition[position] = document.postedAt();
+
+            int index = firstIndexAbove(salaries, listed, document.salary());
+            System.arraycopy(bySalary, index, bySalary, index + 1, listed - index);
+            System.arraycopy(salaries, index, salaries, index + 1, listed - index);
+            bySalary[index] = doc;
+            salaries[index] = document.salary();
+
+            listed++;
+            rerank(position);
+        }
+
+        /**
+         * Take a document out of both sort orders; must run before its document is replaced or cleared
+         */
+        private void unlist(int doc) {
+            if (!sorted || !live.get(doc)) {
+                return;
+            }
+            int position = rank[doc];
+            System.arraycopy(order, position + 1, order, position, listed - position - 1);
+            System.arraycopy(postedAtByPosition, position + 1, postedAtByPosition, position, listed - position - 1);
+
+            long salary = documents.get(doc).salary();
+            int index = firstIndexAbove(salaries, listed, salary - 1);
+            while (bySalary[index] != doc) {
+                index++;
+            }
+            System.arraycopy(bySalary, index + 1, bySalary, index, listed - index - 1);
+            System.arraycopy(salaries, index + 1, salaries, index, listed - index - 1);
+
+            listed--;
+            rerank(position);
+        }
+
+        private void rerank(int from) {
+            for (int position = from; position < listed; position++) {
+                rank[order[position]] = position;
+            }
+        }
+
+        /**
+         * Build both sort orders from scratch; only needed once, after a rebuild has loaded every document
+         */
+        void sort() {
+            if (sorted) {
+                return;
+            }
+            Integer[] byDate = live.stream().boxed().toArray(Integer[]::new);
+            Comparator<Integer> newestFirst = Comparator
+                    .comparing((Integer doc) -> documents.get(doc).postedAt())
+                    .thenComparing(doc -> documents.get(doc).id())
+                    .reversed();
+            Arrays.sort(byDate, newestFirst);
+
+            listed = byDate.length;
+            order = new int[listed];
+            rank = new int[documents.size()];
+            postedAtByPosition = new long[listed];
+            for (int position = 0; position < listed; position++) {
+                int doc = byDate[position];
+                order[position] = doc;
+                rank[doc] = position;
+                postedAtByPosition[position] = documents.get(doc).postedAt();
+            }
+
+            Integer[] bySalaryBoxed = live.stream().boxed().toArray(Integer[]::new);
+            Arrays.sort(bySalaryBoxed, Comparator.comparingLong(doc -> documents.get(doc).salary()));
+            bySalary = new int[listed];
+            salaries = new long[listed];
+            for (int i = 0; i < listed; i++) {
+                bySalary[i] = bySalaryBoxed[i];
+                salaries[i] = documents.get(bySalaryBoxed[i]).salary();
+            }
+            sorted = true;
+        }
+
+        BitSet match(Query query) {
+            return match(query, null, ranges(query));
+        }
+
+        /**
+         * Count per value of every facet over the matching set, where each facet ignores its own term
+         * so the counts show what selecting another value would return
+         */
+        Map<VacancyFacet, Map<Long, Long>> facetCounts(Query query) {
+            BitSet ranges = ranges(query);
+            Map<VacancyFacet, Map<Long, Long>> counts = new EnumMap<>(VacancyFacet.class);
+            BitSet scratch = new BitSet();
+            for (VacancyFacet facet : VacancyFacet.values()) {
+                BitSet others = match(query, facet, ranges);
+                Map<Long, Long> values = new HashMap<>();
+                if (!others.isEmpty()) {
+                    postings.getOrDefault(facet, Map.of()).forEach((value, bits) -> {
+                        scratch.clear();
+                        scratch.or(bits);
+                        scratch.and(others);
+                        int cardinality = scratch.cardinality();
+                        if (cardinality > 0) {
+                            values.put(value, (long) cardinality);
+                        }
+                    });
+                }
+                counts.put(facet, values);
+            }
+            return counts;
+        }
+
+        /**
+         * @param excluded A facet whose term is ignored, or null
+         * @param ranges The salary and posting date constraints, or null if there are none
+         */
+        private BitSet match(Query query, VacancyFacet excluded, BitSet ranges) {
+            List<BitSet> required = new ArrayList<>();
+            if (query.terms() != null) {
+                for (Map.Entry<VacancyFacet, Long> term : query.terms().entrySet()) {
+                    if (term.getValue() == null || term.getKey() == excluded) {
+                        continue;
+                    }
+                    BitSet bits = postings.getOrDefault(term.getKey(), Map.of()).get(term.getValue());
+                    if (bits == null) {
+                        return new BitSet();
+                    }
+                    required.add(bits);
+                }
+            }
+            if (ranges != null) {
+                required.add(ranges);
+            }
+            // Start from the rarest value so every further intersection works on the smallest set
+            required.sort(Comparator.comparingInt(BitSet::cardinality));
+            BitSet result = (BitSet) (required.isEmpty() ? live : required.get(0)).clone();
+            for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+                result.and(required.get(i));
+            }
+            return result;
+        }
+
+        private BitSet ranges(Query query) {
+            BitSet ranges = null;
+            if (query.minSalary() != null || query.maxSalary() != null) {
+                ranges = salaryRange(query.minSalary(), query.maxSalary());
+            }
+            if (query.postedAfter() != null) {
+                BitSet posted = positions(0, postedSince(epochMicros(query.postedAfter())), order);
+                if (ranges == null) {
+                    ranges = posted;
+                } else {
+                    ranges.and(posted);
+                }
+            }
+            return ranges;
+        }
+
+        private BitSet salaryRange(Long min, Long max) {
+            int from = min != null && min > Long.MIN_VALUE ? firstIndexAbove(salaries, listed, min - 1) : 0;
+            int to = max != null ? firstIndexAbove(salaries, listed, max) : listed;
+            return from < to ? positions(from, to, bySalary) : new BitSet();
+        }
+
+        // First index below length whose salary is greater than the value
+        private static int firstIndexAbove(long[] values, int length, long value) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Number of leading positions in order posted at or after the instant
+        private int postedSince(long instant) {
+            int low = 0;
+            int high = listed;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (postedAtByPosition[mid] >= instant) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * First position in order strictly after the cursor in {@code (posted_at DESC, id DESC)} order
+         */
+        int positionAfter(long cursorPostedAt, String cursorId) {
+            int low = 0;
+            int high = listed;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                long postedAt = postedAtByPosition[mid];
+                boolean after = postedAt < cursorPostedAt
+                        || (postedAt == cursorPostedAt && documents.get(order[mid]).id().compareTo(cursorId) < 0);
+                if (after) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        private static BitSet positions(int from, int to, int[] docs) {
+            BitSet bits = new BitSet();
+            for (int i = from; i < to; i++) {
+                bits.set(docs[i]);
+            }
+            return bits;
+        }
+
+        /**
+         * Ids of the matching documents at positions [from, to) of order, skipping the first {@code skip}
+         */
+        List<String> page(BitSet matches, int from, int to, int skip, int limit) {
+            List<String> ids = new ArrayList<>(limit);
+            int cardinality = matches.cardinality();
+            if (cardinality == 0 || limit <= 0) {
+                return ids;
+            }
+            if ((long) cardinality * SPARSE_RATIO < listed) {
+                // Few matches: sort their positions instead of walking the whole order
+                int[] ranks = matches.stream().map(doc -> rank[doc]).filter(position -> position >= from && position < to)
+                        .sorted().toArray();
+                for (int i = skip; i < ranks.length && ids.size() < limit; i++) {
+                    ids.add(documents.get(order[ranks[i]]).id());
+                }
+                return ids;
+            }
+            int skipped = 0;
+            for (int position = from; position < to && ids.size() < limit; position++) {
+                int doc = order[position];
+                if (matches.get(doc) && skipped++ >= skip) {
+                    ids.add(documents.get(doc).id());
+                }
+            }
+            return ids;
+        }
+    }
+}
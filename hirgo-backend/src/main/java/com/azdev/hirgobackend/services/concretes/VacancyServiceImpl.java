@@ -26,7 +26,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -38,6 +39,15 @@ public class VacancyServiceImpl implements VacancyService {
     VacancyMapper vacancyMapper;
     JPAQueryFactory jpaQueryFactory;
     CurrentUserService currentUserService;
+    VacancyListingService vacancyListingService;
+    VacancySearchIndex vacancySearchIndex;
+    VacancySearchDocumentService vacancySearchDocumentService;
+    VacancyAutocompleteService vacancyAutocompleteService;
+    PageCountService pageCountService;
+    CompanyStatsService companyStatsService;
+
+    // Endpoint key under pagination.count
+    private static final String FILTER_COUNT = "employer-vacancy-filter";
 
     @Override
     public VacancyCreateResponse createVacancy(CreateVacancyRequest request) {
@@ -50,6 +60,11 @@ public class VacancyServiceImpl implements VacancyService {
 
         // Save the vacancy
         Vacancy savedVacancy = vacancyRepository.save(vacancy);
+        vacancyListingService.refresh(savedVacancy.getId());
+        vacancySearchIndex.index(savedVacancy);
+        vacancySearchDocumentService.refresh(savedVacancy);
+        vacancyAutocompleteService.index(savedVacancy);
+        companyStatsService.vacancyChanged(companyId);
         return vacancyMapper.toCreateResponse(savedVacancy);
     }
 
@@ -112,21 +127,32 @@ public class VacancyServiceImpl implements VacancyService {
         predicate.and(filter.postedBefore() != null ? vacancy.postedAt.loe(filter.postedBefore()) : null);
         predicate.and(vacancy.companyId.eq(companyId));
 
+        // One row of look-ahead tells whether another page follows without counting
         List<Vacancy> results = jpaQueryFactory.selectFrom(vacancy)
                 .where(predicate)
                 .join(category).on(vacancy.categoryId.eq(category.id))
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
+                .limit(pageable.getPageSize() + 1L)
                 .fetch();
-
-        Long total = jpaQueryFactory.select(vacancy.count())
-                .from(vacancy)
-                .where(predicate)
-                .fetchOne();
-
-
-
-        Page<Vacancy> page = PageableExecutionUtils.getPage(results, pageable, () -> total == null ? 0 : total);
+        boolean hasNext = results.size() > pageable.getPageSize();
+        Slice<Vacancy> rows = new SliceImpl<>(hasNext ? results.subList(0, pageable.getPageSize()) : results, pageable, hasNext);
+
+        Page<Vacancy> page = pageCountService.page(FILTER_COUNT, rows, limit -> {
+            if (limit == null) {
+                Long total = jpaQueryFactory.select(vacancy.count())
+                        .from(vacancy)
+                        .where(predicate)
+                        .fetchOne();
+                return total == null ? 0 : total;
+            }
+            // JPQL has no LIMIT in subqueries, so a capped count reads at most limit ids instead
+            return jpaQueryFactory.select(vacancy.id)
+                    .from(vacancy)
+                    .where(predicate)
+                    .limit(limit)
+                    .fetch()
+                    .size();
+        }, null);
 
         return vacancyMapper.toResponsePage(page);
     }
@@ -141,6 +167,11 @@ public class VacancyServiceImpl implements VacancyService {
 
         vacancyMapper.updateVacancyFromDto(request, vacancy);
         Vacancy updatedVacancy = vacancyRepository.save(vacancy);
+        vacancyListingService.refresh(updatedVacancy.getId());
+        vacancySearchIndex.index(updatedVacancy);
+        vacancySearchDocumentService.refresh(updatedVacancy);
+        vacancyAutocompleteService.index(updatedVacancy);
+        companyStatsService.vacancyChanged(updatedVacancy.getCompanyId());
         return vacancyMapper.toResponse(updatedVacancy);
     }
 
@@ -153,6 +184,9 @@ public class VacancyServiceImpl implements VacancyService {
         verifyVacancyOwnership(vacancy);
 
         vacancyRepository.deleteById(id);
+        vacancySearchIndex.remove(id);
+        vacancyAutocompleteService.remove(id);
+        companyStatsService.vacancyChanged(vacancy.getCompanyId());
     }
 
     /**
@@ -0,0 +1,268 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.VacancyViewProperties;
+import com.azdev.hirgobackend.repositories.VacancyViewRepository;
+import com.azdev.hirgobackend.repositories.VacancyViewRepository.LoggedView;
+import com.azdev.hirgobackend.utils.IpHashUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Write-behind buffer for vacancy view counts.
+ * Views are accumulated in a striped counter per vacancy and written to vacancy_views
+ * with a single multi-row upsert per flush, so hot vacancies no longer contend on one row lock.
+ * Probably-new unique views wait here too and are logged to vacancy_view_logs by the same statement.
+ * Request threads never write: a full buffer hands an early flush to the task executor, and unique views
+ * beyond a hard cap are dropped rather than held while the database is unreachable.
+ */
+@Slf4j
+@Service
+public class VacancyViewCountBuffer {
+
+    private final VacancyViewRepository vacancyViewRepository;
+    private final VacancyViewProperties properties;
+    private final VacancyViewDeduplicator vacancyViewDeduplicator;
+    private final Executor taskExecutor;
+
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+    // Unique views not logged yet, with the digest to mark as seen once they are
+    private final ConcurrentHashMap<UniqueView, byte[]> pendingUnique = new ConcurrentHashMap<>();
+    // Counters evicted as idle during the previous flush; re-read once so a racing increment is not lost
+    private final Queue<Map.Entry<String, LongAdder>> retired = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Set while an early flush is queued on the executor, so a burst of views queues it once
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final Timer flushTimer;
+    private final Counter flushedViews;
+    private final Counter droppedUniqueViews;
+
+    public VacancyViewCountBuffer(VacancyViewRepository vacancyViewRepository,
+                                  VacancyViewProperties properties,
+                                  VacancyViewDeduplicator vacancyViewDeduplicator,
+                                  @Qualifier("taskExecutor") Executor taskExecutor,
+                                  MeterRegistry meterRegistry) {
+        this.vacancyViewRepository = vacancyViewRepository;
+        this.properties = properties;
+        this.vacancyViewDeduplicator = vacancyViewDeduplicator;
+        this.taskExecutor = taskExecutor;
+        this.flushTimer = Timer.builder("vacancy.views.flush")
+                .description("Time spent writing buffered view deltas")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.flushedViews = Counter.builder("vacancy.views.flushed")
+                .description("Views written to vacancy_views")
+                .register(meterRegistry);
+        this.droppedUniqueViews = Counter.builder("vacancy.views.unique.dropped")
+                .description("Unique views dropped because the buffer was at its cap")
+                .register(meterRegistry);
+        Gauge.builder("vacancy.views.pending.deltas", this, VacancyViewCountBuffer::pendingDeltas)
+                .description("Views counted in memory but not yet written")
+                .register(meterRegistry);
+        Gauge.builder("vacancy.views.pending.vacancies", pending, Map::size)
+                .description("Vacancies with a counter held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count one view. Never touches the database; a buffer over its size bound only requests an early flush.
+     *
+     * @param vacancyId The ID of the viewed vacancy
+     */
+    public void record(String vacancyId) {
+        add(vacancyId, 1);
+        if (pending.size() > properties.getBuffer().getMaxPendingVacancies()) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * Queue a view from a viewer not seen on this vacancy today. The next flush logs it and counts it as a
+     * view unless vacancy_view_logs already has it from an earlier day or another node.
+     *
+     * @param digest Digest from {@code IpHashUtils.digestIpAndVacancyId}
+     */
+    public void recordUnique(String vacancyId, byte[] digest) {
+        queueUnique(new UniqueView(vacancyId, IpHashUtils.encodeDigest(digest)), digest);
+        if (pendingUnique.size() > properties.getBuffer().getMaxPendingVacancies()) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * @param vacancyId The ID of the vacancy
+     * @return Views counted for the vacancy that have not been written yet
+     */
+    public long pendingFor(String vacancyId) {
+        LongAdder adder = pending.get(vacancyId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    @Scheduled(fixedDelayString = "${vacancy.views.buffer.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLock.lock();
+        try {
+            drainAndWrite();
+            // Nothing flushes after this point, so pick up whatever the retired counters caught too
+            drainAndWrite();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write all pending deltas. Concurrent callers skip instead of queueing behind a running flush.
+     */
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            drainAndWrite();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Queue a flush on the task executor unless one is already queued
+     */
+    private void requestFlush() {
+        if (!flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        log.debug("View buffer holds {} vacancies and {} unique views, flushing early", pending.size(), pendingUnique.size());
+        try {
+            taskExecutor.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        } catch (RejectedExecutionException e) {
+            // The scheduled flush picks the views up instead
+            flushRequested.set(false);
+        }
+    }
+
+    private void drainAndWrite() {
+        // Sorted, so every node binds the ids in the same order
+        Map<String, Long> deltas = new TreeMap<>();
+
+        Map.Entry<String, LongAdder> late;
+        while ((late = retired.poll()) != null) {
+            long delta = late.getValue().sum();
+            if (delta > 0) {
+                deltas.merge(late.getKey(), delta, Long::sum);
+            }
+        }
+
+        pending.forEach((vacancyId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.merge(vacancyId, delta, Long::sum);
+            } else if (pending.remove(vacancyId, adder)) {
+                // Idle for a whole interval: drop it to keep the footprint bounded
+                retired.add(Map.entry(vacancyId, adder));
+            }
+        });
+
+        List<Map.Entry<UniqueView, byte[]>> unique = new ArrayList<>();
+        for (UniqueView view : pendingUnique.keySet()) {
+            byte[] digest = pendingUnique.remove(view);
+            if (digest != null) {
+                unique.add(Map.entry(view, digest));
+            }
+        }
+
+        if (deltas.isEmpty() && unique.isEmpty()) {
+            return;
+        }
+
+        String[] vacancyIds = new String[deltas.size()];
+        Long[] counts = new Long[deltas.size()];
+        long total = 0;
+        int i = 0;
+        for (Map.Entry<String, Long> entry : deltas.entrySet()) {
+            vacancyIds[i] = entry.getKey();
+            counts[i] = entry.getValue();
+            total += entry.getValue();
+            i++;
+        }
+
+        String[] viewedVacancyIds = new String[unique.size()];
+        String[] ipHashes = new String[unique.size()];
+        for (int j = 0; j < unique.size(); j++) {
+            viewedVacancyIds[j] = unique.get(j).getKey().vacancyId();
+            ipHashes[j] = unique.get(j).getKey().ipHash();
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            List<LoggedView> logged = vacancyViewRepository.incrementViewCounts(vacancyIds, counts, viewedVacancyIds, ipHashes);
+            // Mark only views the database confirmed as logged; until then a repeat from the same viewer may queue again
+            Set<UniqueView> confirmed = new HashSet<>(logged.size());
+            logged.forEach(view -> confirmed.add(new UniqueView(view.getVacancyId(), view.getIpHash())));
+            unique.stream()
+                    .filter(view -> confirmed.contains(view.getKey()))
+                    .forEach(view -> vacancyViewDeduplicator.mark(view.getValue()));
+            flushedViews.increment(total);
+            log.debug("Flushed {} views for {} vacancies and {} unique views", total, vacancyIds.length, unique.size());
+        } catch (Exception e) {
+            log.error("Failed to flush {} buffered views and {} unique views, keeping them for the next attempt: {}",
+                    total, unique.size(), e.getMessage());
+            deltas.forEach(this::add);
+            unique.forEach(view -> queueUnique(view.getKey(), view.getValue()));
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void queueUnique(UniqueView view, byte[] digest) {
+        // The size check races with other writers, so the cap can be overshot by a few entries at most
+        if (pendingUnique.size() >= properties.getBuffer().getMaxPendingUniqueViews()) {
+            droppedUniqueViews.increment();
+            return;
+        }
+        pendingUnique.putIfAbsent(view, digest);
+    }
+
+    private void add(String vacancyId, long delta) {
+        pending.computeIfAbsent(vacancyId, id -> new LongAdder()).add(delta);
+    }
+
+    private record UniqueView(String vacancyId, String ipHash) {
+    }
+
+    private double pendingDeltas() {
+        long sum = 0;
+        for (LongAdder adder : pending.values()) {
+            sum += adder.sum();
+        }
+        return sum;
+    }
+}
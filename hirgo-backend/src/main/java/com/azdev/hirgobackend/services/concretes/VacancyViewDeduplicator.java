@@ -0,0 +1,170 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.VacancyViewProperties;
+import com.azdev.hirgobackend.utils.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory front for vacancy_view_logs.
+ * Holds one Bloom filter of IP+vacancy digests per calendar day, so a repeat view is rejected
+ * without a database round trip. A false positive drops one genuinely new view; false negatives
+ * cannot happen, and every "new" answer is still confirmed against the durable log.
+ */
+@Slf4j
+@Service
+public class VacancyViewDeduplicator {
+
+    private static final int SNAPSHOT_MAGIC = 0x48564446;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final VacancyViewProperties.Dedup properties;
+    private final Clock clock = Clock.systemDefaultZone();
+
+    private volatile DailyFilter current;
+
+    private final Counter repeatsRejected;
+
+    public VacancyViewDeduplicator(VacancyViewProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getDedup();
+        this.repeatsRejected = Counter.builder("vacancy.views.dedup.rejected")
+                .description("Repeat views rejected by the in-memory filter")
+                .register(meterRegistry);
+        Gauge.builder("vacancy.views.dedup.false.positive.rate", this, VacancyViewDeduplicator::currentFalsePositiveRate)
+                .description("Estimated false-positive rate of today's filter")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void restoreSnapshot() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path path = Paths.get(properties.getSnapshotPath());
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring unrecognised view filter snapshot at {}", path);
+                return;
+            }
+            LocalDate day = LocalDate.ofEpochDay(in.readLong());
+            if (!day.equals(LocalDate.now(clock))) {
+                log.info("View filter snapshot is from {}, starting with an empty filter", day);
+                return;
+            }
+            current = new DailyFilter(day, BloomFilter.readFrom(in));
+            log.info("Restored view filter for {} from {}", day, path);
+        } catch (IOException e) {
+            log.warn("Could not restore view filter snapshot from {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * @param digest Digest from {@code IpHashUtils.digestIpAndVacancyId}
+     * @return True if the pair was already seen today (or collides with one that was)
+     */
+    public boolean isRepeat(byte[] digest) {
+        if (!properties.isEnabled() || !filterForToday().mightContain(digest)) {
+            return false;
+        }
+        repeatsRejected.increment();
+        return true;
+    }
+
+    /**
+     * Records a view digest for today, once the view is durably logged
+     *
+     * @param digest Digest from {@code IpHashUtils.digestIpAndVacancyId}
+     */
+    public void mark(byte[] digest) {
+        if (properties.isEnabled()) {
+            filterForToday().put(digest);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${vacancy.views.dedup.snapshot-interval-ms:60000}")
+    public void scheduledSnapshot() {
+        writeSnapshot();
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        writeSnapshot();
+    }
+
+    private BloomFilter filterForToday() {
+        LocalDate today = LocalDate.now(clock);
+        DailyFilter filter = current;
+        if (filter != null && filter.day().equals(today)) {
+            return filter.filter();
+        }
+        synchronized (this) {
+            filter = current;
+            if (filter == null || !filter.day().equals(today)) {
+                filter = new DailyFilter(today, BloomFilter.create(
+                        properties.getExpectedDailyViews(),
+                        properties.getFalsePositiveRate(),
+                        properties.getMaxMemoryBytes()));
+                current = filter;
+                log.info("Started view filter for {} ({} bits, {} hashes)",
+                        today, filter.filter().bitSize(), filter.filter().hashCount());
+            }
+            return filter.filter();
+        }
+    }
+
+    private void writeSnapshot() {
+        DailyFilter filter = current;
+        if (!properties.isEnabled() || filter == null) {
+            return;
+        }
+        Path path = Paths.get(properties.getSnapshotPath());
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            // Write next to the target and swap it in, so a crash mid-write never leaves a torn file
+            Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(filter.day().toEpochDay());
+                filter.filter().writeTo(out);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Could not write view filter snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    private double currentFalsePositiveRate() {
+        DailyFilter filter = current;
+        return filter != null ? filter.filter().currentFalsePositiveRate() : 0.0;
+    }
+
+    private record DailyFilter(LocalDate day, BloomFilter filter) {
+    }
+}
@@ -13,7 +13,6 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,70 +24,47 @@ public class VacancyViewServiceImpl implements VacancyViewService {
 
     VacancyViewRepository vacancyViewRepository;
     VacancyViewLogRepository vacancyViewLogRepository;
+    VacancyViewCountBuffer vacancyViewCountBuffer;
+    VacancyViewDeduplicator vacancyViewDeduplicator;
+    VacancyViewSketchStore vacancyViewSketchStore;
 
-    @Async
     @Override
-    @Transactional
     public void incrementViewCountAsync(String vacancyId) {
-        try {
-            log.debug("Incrementing view count for vacancy: {}", vacancyId);
-            vacancyViewRepository.incrementViewCount(vacancyId);
-            log.debug("Successfully incremented view count for vacancy: {}", vacancyId);
-        } catch (Exception e) {
-            log.error("Error incrementing view count for vacancy {}: {}", vacancyId, e.getMessage());
-            // Don't rethrow - we don't want to fail the main request if this fails
-        }
+        // Buffered in memory and written by the next flush
+        vacancyViewCountBuffer.record(vacancyId);
+        log.debug("Buffered view for vacancy: {}", vacancyId);
     }
     
-    @Async
+    /**
+     * Only touches memory: the view is logged and counted by the next buffer flush, in one statement for
+     * the whole batch, so it no longer takes a slot of the async executor
+     */
     @Override
-    @Transactional
     public void incrementUniqueViewCountAsync(String vacancyId, String ipAddress) {
         try {
-            String anonymizedIp = IpHashUtils.anonymizeIp(ipAddress);
-            log.debug("Checking if vacancy {} has been viewed from IP {}", vacancyId, anonymizedIp);
-            
-            boolean isNewView = logViewFromIp(vacancyId, ipAddress);
-            
-            if (isNewView) {
-                log.debug("New unique view from IP {} for vacancy {}, incrementing count", anonymizedIp, vacancyId);
-                vacancyViewRepository.incrementViewCount(vacancyId);
-                log.debug("Successfully incremented unique view count for vacancy: {}", vacancyId);
-            } else {
-                log.debug("Vacancy {} already viewed from IP {}, not incrementing count", vacancyId, anonymizedIp);
+            // Sketches dedupe on their own, so every view is offered to them
+            vacancyViewSketchStore.record(vacancyId, IpHashUtils.fingerprintIp(ipAddress));
+
+            byte[] digest = IpHashUtils.digestIpAndVacancyId(ipAddress, vacancyId);
+            if (vacancyViewDeduplicator.isRepeat(digest)) {
+                log.debug("Vacancy {} already viewed from IP {}, not incrementing count",
+                        vacancyId, IpHashUtils.anonymizeIp(ipAddress));
+                return;
             }
+            vacancyViewCountBuffer.recordUnique(vacancyId, digest);
         } catch (Exception e) {
             log.error("Error processing unique view for vacancy {} from IP: {}", vacancyId, e.getMessage());
             // Don't rethrow - we don't want to fail the main request if this fails
         }
     }
     
-    @Override
-    @Transactional
-    public boolean logViewFromIp(String vacancyId, String ipAddress) {
-        String ipHash = IpHashUtils.hashIpAndVacancyId(ipAddress, vacancyId);
-        
-        // Check if this IP has already viewed this vacancy
-        if (vacancyViewLogRepository.existsByIpHashAndVacancyId(ipHash, vacancyId)) {
-            return false;
-        }
-        
-        // Log the new view
-        VacancyViewLog viewLog = new VacancyViewLog();
-        viewLog.setIpHash(ipHash);
-        viewLog.setVacancyId(vacancyId);
-        viewLog.setViewedAt(LocalDateTime.now());
-        
-        vacancyViewLogRepository.save(viewLog);
-        return true;
-    }
-
     @Override
     @Transactional(readOnly = true)
     public long getViewCount(String vacancyId) {
-        return vacancyViewRepository.findByVacancyId(vacancyId)
+        long stored = vacancyViewRepository.findByVacancyId(vacancyId)
                 .map(VacancyView::getViewCount)
                 .orElse(0L);
+        return stored + vacancyViewCountBuffer.pendingFor(vacancyId);
     }
 
     @Override
@@ -103,4 +79,14 @@ public class VacancyViewServiceImpl implements VacancyViewService {
         String ipHash = IpHashUtils.hashIpAndVacancyId(ipAddress, vacancyId);
         return vacancyViewLogRepository.findByIpHashAndVacancyId(ipHash, vacancyId);
     }
-} 
\ No newline at end of file
+
+    @Override
+    public long estimateUniqueViewers(String vacancyId, LocalDateTime from, LocalDateTime to) {
+        return vacancyViewSketchStore.estimate(vacancyId, from, to);
+    }
+
+    @Override
+    public long estimateUniqueViewersForCompany(Long companyId, LocalDateTime from, LocalDateTime to) {
+        return vacancyViewSketchStore.estimateForCompany(companyId, from, to);
+    }
+}
@@ -0,0 +1,250 @@
+package com.azdev.hirgobackend.services.concretes;
+
+import com.azdev.hirgobackend.config.VacancyViewProperties;
+import com.azdev.hirgobackend.enums.SketchGranularity;
+import com.azdev.hirgobackend.repositories.VacancyViewSketchRepository;
+import com.azdev.hirgobackend.utils.HyperLogLog;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * HyperLogLog sketches of unique viewers per vacancy, bucketed by hour and by day.
+ * Views are added to an in-memory sketch for the current hour and merged into vacancy_view_sketches
+ * on each flush; estimates read persisted buckets only, so they lag by up to one flush interval.
+ */
+@Slf4j
+@Service
+public class VacancyViewSketchStore {
+
+    // Buckets per merge statement
+    private static final int BATCH_SIZE = 1000;
+
+    private final VacancyViewSketchRepository sketchRepository;
+    private final VacancyViewProperties.Sketch properties;
+
+    private final ConcurrentHashMap<BucketKey, HyperLogLog> pending = new ConcurrentHashMap<>();
+    // Daily roll-ups whose write failed; only touched while holding flushLock
+    private final Map<BucketKey, HyperLogLog> failedDays = new HashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public VacancyViewSketchStore(VacancyViewSketchRepository sketchRepository,
+                                  VacancyViewProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.sketchRepository = sketchRepository;
+        this.properties = properties.getSketch();
+        Gauge.builder("vacancy.views.sketch.pending", pending, Map::size)
+                .description("Hourly unique-viewer sketches not yet merged into the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param vacancyId The ID of the viewed vacancy
+     * @param viewerFingerprint Salted hash of the viewer, see {@code IpHashUtils.fingerprintIp}
+     */
+    public void record(String vacancyId, long viewerFingerprint) {
+        BucketKey key = new BucketKey(vacancyId, SketchGranularity.HOUR.bucketStart(LocalDateTime.now()));
+        // compute() keeps the add atomic with respect to flush removing the entry
+        pending.compute(key, (k, sketch) -> {
+            HyperLogLog target = sketch != null ? sketch : new HyperLogLog();
+            target.add(viewerFingerprint);
+            return target;
+        });
+    }
+
+    public long estimate(String vacancyId, LocalDateTime from, LocalDateTime to) {
+        return estimate((granularity, start, end) ->
+                sketchRepository.findRegisters(vacancyId, granularity.name(), start, end), from, to);
+    }
+
+    public long estimateForCompany(Long companyId, LocalDateTime from, LocalDateTime to) {
+        return estimate((granularity, start, end) ->
+                sketchRepository.findCompanyRegisters(companyId, granularity.name(), start, end), from, to);
+    }
+
+    @Scheduled(fixedDelayString = "${vacancy.views.sketch.flush-interval-ms:60000}")
+    public void scheduledFlush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLock.lock();
+        try {
+            flush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${vacancy.views.sketch.cleanup-cron:0 30 3 * * *}")
+    public void deleteExpiredBuckets() {
+        LocalDateTime today = SketchGranularity.DAY.bucketStart(LocalDateTime.now());
+        int hourly = sketchRepository.deleteOlderThan(SketchGranularity.HOUR.name(),
+                Timestamp.valueOf(today.minusDays(properties.getHourlyRetentionDays())));
+        int daily = sketchRepository.deleteOlderThan(SketchGranularity.DAY.name(),
+                Timestamp.valueOf(today.minusDays(properties.getDailyRetentionDays())));
+        log.info("Deleted {} hourly and {} daily view sketches past retention", hourly, daily);
+    }
+
+    private void flush() {
+        List<Map.Entry<BucketKey, HyperLogLog>> hours = new ArrayList<>();
+        for (BucketKey key : pending.keySet()) {
+            HyperLogLog hour = pending.remove(key);
+            if (hour != null) {
+                hours.add(Map.entry(key, hour));
+            }
+        }
+
+        Map<BucketKey, HyperLogLog> days = new HashMap<>(failedDays);
+        failedDays.clear();
+        for (List<Map.Entry<BucketKey, HyperLogLog>> batch : batches(hours)) {
+            try {
+                merge(SketchGranularity.HOUR, batch);
+            } catch (Exception e) {
+                log.error("Failed to persist {} view sketches, retrying next flush: {}", batch.size(), e.getMessage());
+                batch.forEach(entry -> requeue(entry.getKey(), entry.getValue()));
+                continue;
+            }
+            for (Map.Entry<BucketKey, HyperLogLog> entry : batch) {
+                BucketKey key = entry.getKey();
+                BucketKey day = new BucketKey(key.vacancyId(), SketchGranularity.DAY.bucketStart(key.bucketStart()));
+                days.computeIfAbsent(day, k -> new HyperLogLog()).merge(entry.getValue());
+            }
+        }
+
+        for (List<Map.Entry<BucketKey, HyperLogLog>> batch : batches(new ArrayList<>(days.entrySet()))) {
+            try {
+                merge(SketchGranularity.DAY, batch);
+            } catch (Exception e) {
+                // Retrying is harmless even if the write partly landed: HyperLogLog merges are idempotent
+                log.error("Failed to persist {} daily view sketches, retrying next flush: {}", batch.size(), e.getMessage());
+                batch.forEach(entry -> failedDays.put(entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    private void merge(SketchGranularity granularity, List<Map.Entry<BucketKey, HyperLogLog>> batch) {
+        String[] vacancyIds = new String[batch.size()];
+        String[] bucketStarts = new String[batch.size()];
+        String[] sketches = new String[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            BucketKey key = batch.get(i).getKey();
+            vacancyIds[i] = key.vacancyId();
+            bucketStarts[i] = Timestamp.valueOf(key.bucketStart()).toString();
+            sketches[i] = Base64.getEncoder().encodeToString(batch.get(i).getValue().toBytes());
+        }
+        sketchRepository.mergeSketches(granularity.name(), vacancyIds, bucketStarts, sketches);
+    }
+
+    private static <T> List<List<T>> batches(List<T> items) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+            batches.add(items.subList(from, Math.min(from + BATCH_SIZE, items.size())));
+        }
+        return batches;
+    }
+
+    private void requeue(BucketKey key, HyperLogLog sketch) {
+        pending.merge(key, sketch, (existing, failed) -> {
+            existing.merge(failed);
+            return existing;
+        });
+    }
+
+    private long estimate(RegisterSource source, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            return 0L;
+        }
+        LocalDateTime start = SketchGranularity.HOUR.bucketStart(from);
+        LocalDateTime end = SketchGranularity.HOUR.bucketStart(to);
+        if (end.isBefore(to)) {
+            end = end.plusHours(1);
+        }
+
+        HyperLogLog merged = new HyperLogLog();
+        for (Segment segment : segments(start, end)) {
+            for (byte[] registers : source.find(segment.granularity(),
+                    Timestamp.valueOf(segment.from()), Timestamp.valueOf(segment.to()))) {
+                merged.merge(HyperLogLog.fromBytes(registers));
+            }
+        }
+        return merged.estimate();
+    }
+
+    /**
+     * Covers [start, end) with daily buckets for whole days and hourly buckets for the partial days at either end.
+     * Partial days whose hourly buckets are past retention fall back to their daily bucket, widening the range.
+     */
+    private List<Segment> segments(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime hourlyHorizon = SketchGranularity.DAY.bucketStart(LocalDateTime.now())
+                .minusDays(properties.getHourlyRetentionDays());
+        LocalDateTime firstFullDay = start.truncatedTo(ChronoUnit.DAYS);
+        if (firstFullDay.isBefore(start)) {
+            firstFullDay = firstFullDay.plusDays(1);
+        }
+        LocalDateTime lastFullDayEnd = end.truncatedTo(ChronoUnit.DAYS);
+
+        List<Segment> segments = new ArrayList<>();
+        if (!firstFullDay.isBefore(lastFullDayEnd)) {
+            // Range sits within one day or straddles a single midnight
+            addPartialDay(segments, start, min(end, firstFullDay), hourlyHorizon);
+            if (firstFullDay.isBefore(end) && !firstFullDay.isBefore(start)) {
+                addPartialDay(segments, firstFullDay, end, hourlyHorizon);
+            }
+            return segments;
+        }
+        addPartialDay(segments, start, firstFullDay, hourlyHorizon);
+        segments.add(new Segment(SketchGranularity.DAY, firstFullDay, lastFullDayEnd));
+        addPartialDay(segments, lastFullDayEnd, end, hourlyHorizon);
+        return segments;
+    }
+
+    private static void addPartialDay(List<Segment> segments, LocalDateTime from, LocalDateTime to,
+                                      LocalDateTime hourlyHorizon) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        if (from.isBefore(hourlyHorizon)) {
+            LocalDateTime day = from.truncatedTo(ChronoUnit.DAYS);
+            segments.add(new Segment(SketchGranularity.DAY, day, day.plusDays(1)));
+        } else {
+            segments.add(new Segment(SketchGranularity.HOUR, from, to));
+        }
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    @FunctionalInterface
+    private interface RegisterSource {
+        List<byte[]> find(SketchGranularity granularity, Timestamp from, Timestamp to);
+    }
+
+    private record BucketKey(String vacancyId, LocalDateTime bucketStart) {
+    }
+
+    private record Segment(SketchGranularity granularity, LocalDateTime from, LocalDateTime to) {
+    }
+}
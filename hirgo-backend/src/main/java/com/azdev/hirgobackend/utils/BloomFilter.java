@@ -0,0 +1,150 @@
+package com.azdev.hirgobackend.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over pre-hashed keys.
+ * Keys must be at least 16 bytes of a uniform digest (e.g. SHA-256); the bit positions are
+ * derived from its first two 64-bit words by double hashing, so no further hashing is done here.
+ */
+public final class BloomFilter {
+
+    private static final int MIN_DIGEST_LENGTH = 16;
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(AtomicLongArray words, int hashCount) {
+        this.words = words;
+        this.bitCount = (long) words.length() * Long.SIZE;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Sizes a filter for the expected number of keys and false-positive rate
+     *
+     * @param expectedInsertions Number of keys the filter should hold at the target rate
+     * @param falsePositiveRate Target false-positive rate, between 0 and 1 exclusive
+     * @param maxBytes Upper bound on the bit array; wins over the target rate when smaller
+     * @return An empty filter
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate, long maxBytes) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        long bits = Math.min(optimalBits, Math.max(Long.SIZE, maxBytes * Byte.SIZE));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + Long.SIZE - 1) / Long.SIZE);
+        long actualBits = (long) wordCount * Long.SIZE;
+        int hashes = (int) Math.max(1, Math.round((double) actualBits / expectedInsertions * LN2));
+        return new BloomFilter(new AtomicLongArray(wordCount), hashes);
+    }
+
+    /**
+     * Adds a key
+     *
+     * @param digest The key digest
+     * @return True if at least one bit changed, i.e. the key was definitely not present before
+     */
+    public boolean put(byte[] digest) {
+        long h1 = word(digest, 0);
+        long h2 = word(digest, 8);
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            changed |= setBit(index(h1, h2, i));
+        }
+        return changed;
+    }
+
+    /**
+     * @param digest The key digest
+     * @return False if the key was never added, true if it probably was
+     */
+    public boolean mightContain(byte[] digest) {
+        long h1 = word(digest, 0);
+        long h2 = word(digest, 8);
+        for (int i = 0; i < hashCount; i++) {
+            long index = index(h1, h2, i);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * @return False-positive rate at the current fill, which grows past the target if the filter is overfilled
+     */
+    public double currentFalsePositiveRate() {
+        long setBits = 0;
+        for (int i = 0; i < words.length(); i++) {
+            setBits += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) setBits / bitCount, hashCount);
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(hashCount);
+        out.writeInt(words.length());
+        for (int i = 0; i < words.length(); i++) {
+            out.writeLong(words.get(i));
+        }
+    }
+
+    public static BloomFilter readFrom(DataInputStream in) throws IOException {
+        int hashes = in.readInt();
+        int wordCount = in.readInt();
+        if (hashes <= 0 || wordCount <= 0) {
+            throw new IOException("Corrupt Bloom filter header");
+        }
+        AtomicLongArray words = new AtomicLongArray(wordCount);
+        for (int i = 0; i < wordCount; i++) {
+            words.set(i, in.readLong());
+        }
+        return new BloomFilter(words, hashes);
+    }
+
+    private long index(long h1, long h2, int i) {
+        return ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+    }
+
+    private boolean setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    private static long word(byte[] digest, int offset) {
+        if (digest.length < MIN_DIGEST_LENGTH) {
+            throw new IllegalArgumentException("Digest must be at least " + MIN_DIGEST_LENGTH + " bytes");
+        }
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (digest[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
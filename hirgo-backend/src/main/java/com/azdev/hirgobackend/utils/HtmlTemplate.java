@@ -0,0 +1,250 @@
+package com.azdev.hirgobackend.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Logic-less HTML template, a subset of Mustache, parsed once and rendered against a JSON tree.
+ * <ul>
+ *     <li>{@code {{a.b}}} writes a value HTML-escaped, {@code {{{a.b}}}} writes it as is</li>
+ *     <li>{@code {{#a}}...{{/a}}} repeats its body for each element of an array, renders it once for any
+ *     other truthy value and skips it otherwise; {@code {{^a}}...{{/a}}} renders only when {@code a} is falsy</li>
+ *     <li>{@code {{.}}} is the current section value, {@code {{list.0}}} is the first element of an array,
+ *     so {@code {{#list.0}}...{{/list.0}}} renders once when the list is not empty</li>
+ *     <li>{@code {{! ...}}} is a comment</li>
+ * </ul>
+ * Names are resolved from the innermost section outwards. Rendering walks the compiled nodes once and
+ * reads the tree directly, so there is no reflection and no per-render parsing.
+ */
+public final class HtmlTemplate {
+
+    private final String name;
+    private final Node[] nodes;
+    // Static text length, a lower bound for the output size
+    private final int textLength;
+
+    private HtmlTemplate(String name, Node[] nodes, int textLength) {
+        this.name = name;
+        this.nodes = nodes;
+        this.textLength = textLength;
+    }
+
+    /**
+     * @param name Template name, used in error messages
+     * @param source Template source
+     * @throws IllegalArgumentException if a tag is unterminated or sections do not nest
+     */
+    public static HtmlTemplate compile(String name, String source) {
+        Deque<OpenSection> open = new ArrayDeque<>();
+        List<Node> root = new ArrayList<>();
+        List<Node> current = root;
+        int textLength = 0;
+        int position = 0;
+
+        while (position < source.length()) {
+            int start = source.indexOf("{{", position);
+            if (start < 0) {
+                textLength += addText(current, source.substring(position));
+                break;
+            }
+            textLength += addText(current, source.substring(position, start));
+
+            boolean raw = source.startsWith("{{{", start);
+            String closing = raw ? "}}}" : "}}";
+            int tagStart = start + (raw ? 3 : 2);
+            int end = source.indexOf(closing, tagStart);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unterminated tag in template " + name + " at offset " + start);
+            }
+            position = end + closing.length();
+            String tag = source.substring(tagStart, end).strip();
+            if (tag.isEmpty()) {
+                throw new IllegalArgumentException("Empty tag in template " + name + " at offset " + start);
+            }
+
+            char kind = raw ? 0 : tag.charAt(0);
+            switch (kind) {
+                case '!' -> {
+                }
+                case '#', '^' -> {
+                    String key = tag.substring(1).strip();
+                    open.push(new OpenSection(key, kind == '^', current, start));
+                    current = new ArrayList<>();
+                }
+                case '/' -> {
+                    String key = tag.substring(1).strip();
+                    OpenSection section = open.poll();
+                    if (section == null || !section.key().equals(key)) {
+                        throw new IllegalArgumentException("Unexpected {{/" + key + "}} in template " + name
+                                + " at offset " + start);
+                    }
+                    section.parent().add(new Section(path(key), section.inverted(), current.toArray(Node[]::new)));
+                    current = section.parent();
+                }
+                default -> current.add(new Value(path(tag), !raw));
+            }
+        }
+
+        if (!open.isEmpty()) {
+            OpenSection section = open.peek();
+            throw new IllegalArgumentException("Unclosed {{#" + section.key() + "}} in template " + name
+                    + " at offset " + section.offset());
+        }
+        return new HtmlTemplate(name, root.toArray(Node[]::new), textLength);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String render(JsonNode data) {
+        StringBuilder out = new StringBuilder(textLength + textLength / 2);
+        List<JsonNode> scopes = new ArrayList<>();
+        scopes.add(data);
+        renderAll(nodes, scopes, out);
+        return out.toString();
+    }
+
+    private static void renderAll(Node[] nodes, List<JsonNode> scopes, StringBuilder out) {
+        for (Node node : nodes) {
+            node.render(scopes, out);
+        }
+    }
+
+    private static int addText(List<Node> nodes, String text) {
+        if (!text.isEmpty()) {
+            nodes.add(new Text(text));
+        }
+        return text.length();
+    }
+
+    private static String[] path(String key) {
+        return key.equals(".") ? new String[0] : key.split("\\.");
+    }
+
+    private static JsonNode resolve(String[] path, List<JsonNode> scopes) {
+        if (path.length == 0) {
+            return scopes.get(scopes.size() - 1);
+        }
+        JsonNode node = null;
+        for (int i = scopes.size() - 1; i >= 0; i--) {
+            JsonNode scope = scopes.get(i);
+            if (scope != null && scope.isObject() && scope.has(path[0])) {
+                node = scope.get(path[0]);
+                break;
+            }
+        }
+        for (int i = 1; i < path.length && node != null; i++) {
+            node = node.isArray() ? node.get(index(path[i])) : node.get(path[i]);
+        }
+        return node;
+    }
+
+    private static int index(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isTruthy(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return false;
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        if (node.isArray()) {
+            return !node.isEmpty();
+        }
+        if (node.isTextual()) {
+            return !node.textValue().isBlank();
+        }
+        return true;
+    }
+
+    private static void escape(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                case '`' -> out.append("&#96;");
+                case '=' -> out.append("&#61;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private interface Node {
+        void render(List<JsonNode> scopes, StringBuilder out);
+    }
+
+    private record Text(String text) implements Node {
+
+        @Override
+        public void render(List<JsonNode> scopes, StringBuilder out) {
+            out.append(text);
+        }
+    }
+
+    private record Value(String[] path, boolean escaped) implements Node {
+
+        @Override
+        public void render(List<JsonNode> scopes, StringBuilder out) {
+            JsonNode node = resolve(path, scopes);
+            if (node == null || !node.isValueNode() || node.isNull()) {
+                return;
+            }
+            if (escaped) {
+                escape(node.asText(), out);
+            } else {
+                out.append(node.asText());
+            }
+        }
+    }
+
+    private record Section(String[] path, boolean inverted, Node[] body) implements Node {
+
+        @Override
+        public void render(List<JsonNode> scopes, StringBuilder out) {
+            JsonNode node = resolve(path, scopes);
+            boolean truthy = isTruthy(node);
+            if (inverted) {
+                if (!truthy) {
+                    renderAll(body, scopes, out);
+                }
+                return;
+            }
+            if (!truthy) {
+                return;
+            }
+            if (node.isArray()) {
+                for (JsonNode element : node) {
+                    renderIn(element, scopes, out);
+                }
+            } else {
+                renderIn(node, scopes, out);
+            }
+        }
+
+        private void renderIn(JsonNode scope, List<JsonNode> scopes, StringBuilder out) {
+            scopes.add(scope);
+            try {
+                renderAll(body, scopes, out);
+            } finally {
+                scopes.remove(scopes.size() - 1);
+            }
+        }
+    }
+
+    private record OpenSection(String key, boolean inverted, List<Node> parent, int offset) {
+    }
+}
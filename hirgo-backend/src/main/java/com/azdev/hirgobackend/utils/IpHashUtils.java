@@ -26,15 +26,54 @@ public class IpHashUtils {
      * @return A hashed string representing this unique view
      */
     public static String hashIpAndVacancyId(String ip, String vacancyId) {
-        String combined = ip + SALT + vacancyId;
+        return encodeDigest(digestIpAndVacancyId(ip, vacancyId));
+    }
+
+    /**
+     * Raw SHA-256 digest behind {@link #hashIpAndVacancyId(String, String)}
+     *
+     * @param ip The IP address
+     * @param vacancyId The vacancy ID
+     * @return 32 uniformly distributed bytes identifying this unique view
+     */
+    public static byte[] digestIpAndVacancyId(String ip, String vacancyId) {
+        return sha256(ip + SALT + vacancyId);
+    }
+
+    /**
+     * Encodes a digest the way it is stored in vacancy_view_logs.ip_hash
+     *
+     * @param digest Digest from {@link #digestIpAndVacancyId(String, String)}
+     * @return URL-safe Base64 form of the digest
+     */
+    public static String encodeDigest(byte[] digest) {
+        return Base64.getUrlEncoder().encodeToString(digest);
+    }
+
+    /**
+     * Salted 64-bit fingerprint of a viewer, independent of the vacancy viewed,
+     * so the same viewer collapses to one value across all of a company's vacancies
+     *
+     * @param ip The IP address
+     * @return A uniformly distributed hash suitable for cardinality sketches
+     */
+    public static long fingerprintIp(String ip) {
+        byte[] hash = sha256(SALT + ip);
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (hash[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static byte[] sha256(String value) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(combined.getBytes(StandardCharsets.UTF_8));
-            return Base64.getUrlEncoder().encodeToString(hash);
+            return digest.digest(value.getBytes(StandardCharsets.UTF_8));
         } catch (NoSuchAlgorithmException e) {
-            log.error("Failed to hash IP and vacancy ID", e);
-            // Fallback to a simple hash if SHA-256 is not available
-            return String.valueOf(combined.hashCode());
+            // Every Java platform is required to support SHA-256
+            log.error("SHA-256 is not available", e);
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
     
@@ -0,0 +1,131 @@
+package com.azdev.hirgobackend.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable compressed (radix) trie that answers "the best k entries whose key starts with this prefix".
+ * Every node stores the ids of the k heaviest entries below it, computed once when the trie is built, so a
+ * lookup only walks the prefix and returns a ready array: the cost depends on the prefix length, not on
+ * how many keys match. An entry may be reachable through several keys and is returned at most once.
+ */
+public final class PrefixTrie {
+
+    private static final int[] NONE = new int[0];
+
+    private final Node root;
+
+    private PrefixTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @param keys Keys paired with the entry they lead to
+     * @param weights Weight of each entry by id, higher first
+     * @param k Entries kept per node, the largest result a lookup can return
+     */
+    public static PrefixTrie build(List<Key> keys, long[] weights, int k) {
+        if (keys.isEmpty()) {
+            return new PrefixTrie(null);
+        }
+        Key[] sorted = keys.toArray(Key[]::new);
+        Arrays.sort(sorted, Comparator.comparing(Key::key));
+        Comparator<Integer> heaviestFirst = Comparator.<Integer>comparingLong(id -> weights[id]).reversed()
+                .thenComparingInt(id -> id);
+        return new PrefixTrie(build(sorted, 0, sorted.length, 0, heaviestFirst, k));
+    }
+
+    /**
+     * @return Entry ids, heaviest first; empty if no key starts with the prefix
+     */
+    public int[] top(String prefix) {
+        Node node = root;
+        int matched = 0;
+        while (node != null) {
+            String label = node.label;
+            for (int i = 0; i < label.length() && matched < prefix.length(); i++, matched++) {
+                if (label.charAt(i) != prefix.charAt(matched)) {
+                    return NONE;
+                }
+            }
+            if (matched == prefix.length()) {
+                return node.top;
+            }
+            node = node.child(prefix.charAt(matched));
+        }
+        return NONE;
+    }
+
+    /**
+     * Builds the node for sorted[from, to), whose keys all share their first {@code depth} characters
+     */
+    private static Node build(Key[] sorted, int from, int to, int depth, Comparator<Integer> heaviestFirst, int k) {
+        // The keys are sorted, so the first and last share the longest prefix common to the whole range
+        String first = sorted[from].key();
+        String last = sorted[to - 1].key();
+        int end = depth;
+        while (end < first.length() && end < last.length() && first.charAt(end) == last.charAt(end)) {
+            end++;
+        }
+
+        List<Integer> candidates = new ArrayList<>();
+        int next = from;
+        // Keys ending at this node sort before any longer key of the range
+        while (next < to && sorted[next].key().length() == end) {
+            candidates.add(sorted[next].id());
+            next++;
+        }
+
+        List<Node> children = new ArrayList<>();
+        while (next < to) {
+            char c = sorted[next].key().charAt(end);
+            int groupEnd = next;
+            while (groupEnd < to && sorted[groupEnd].key().charAt(end) == c) {
+                groupEnd++;
+            }
+            Node child = build(sorted, next, groupEnd, end, heaviestFirst, k);
+            children.add(child);
+            for (int id : child.top) {
+                candidates.add(id);
+            }
+            next = groupEnd;
+        }
+
+        int[] top = candidates.stream().distinct().sorted(heaviestFirst).limit(k).mapToInt(Integer::intValue).toArray();
+        char[] firstChars = new char[children.size()];
+        for (int i = 0; i < firstChars.length; i++) {
+            firstChars[i] = children.get(i).label.charAt(0);
+        }
+        return new Node(first.substring(depth, end), firstChars, children.toArray(Node[]::new), top);
+    }
+
+    /**
+     * @param key Normalized text the entry can be found by
+     * @param id Index of the entry in the caller's table
+     */
+    public record Key(String key, int id) {
+    }
+
+    private static final class Node {
+        // Characters on the edge into this node; only the root's may be empty
+        private final String label;
+        // First character of each child's label, ascending
+        private final char[] firstChars;
+        private final Node[] children;
+        private final int[] top;
+
+        private Node(String label, char[] firstChars, Node[] children, int[] top) {
+            this.label = label;
+            this.firstChars = firstChars;
+            this.children = children;
+            this.top = top;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(firstChars, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.azdev.hirgobackend.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Text normalization shared by the vacancy search documents and the queries run against them.
+ * Both sides are folded the same way, so the database only ever compares plain ASCII words and the
+ * 'simple' text search configuration is enough.
+ */
+public final class SearchText {
+
+    private static final Locale AZERBAIJANI = Locale.forLanguageTag("az");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_QUERY_TERMS = 16;
+
+    private SearchText() {
+    }
+
+    /**
+     * Lower-cases with Azerbaijani rules, so {@code I} becomes {@code ı} and {@code İ} becomes {@code i},
+     * then drops the diacritics: {@code ə ı ç ş ğ ö ü} fold to {@code e i c s g o u}.
+     * Anything but letters and digits separates words, so "node.js" is the words "node" and "js" on both sides.
+     * A job seeker typing "muhendis" or "MÜHƏNDİS" finds "Mühəndis".
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(AZERBAIJANI);
+        StringBuilder folded = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            switch (c) {
+                // No decomposition exists for these two
+                case '\u0131' -> folded.append('i'); // ı
+                case '\u0259' -> folded.append('e'); // ə
+                default -> folded.append(c);
+            }
+        }
+        String plain = MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+        return NON_WORD.matcher(plain).replaceAll(" ").strip();
+    }
+
+    public static String fold(String[] texts) {
+        return texts == null ? "" : fold(String.join(" ", texts));
+    }
+
+    /**
+     * Builds a prefix-matching tsquery that requires every word of the input, e.g. {@code "Java Mühən"}
+     * becomes {@code "java:* & muhen:*"}.
+     * Only letters and digits survive folding, so the result is always valid tsquery syntax.
+     *
+     * @return The query, or null if the input has no searchable words
+     */
+    public static String prefixQuery(String input) {
+        List<String> terms = new ArrayList<>();
+        for (String word : fold(input).split(" ")) {
+            if (!word.isEmpty() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(word + ":*");
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+}
@@ -0,0 +1,155 @@
+package com.azdev.hirgobackend.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.azdev.hirgobackend.dtos.vacancy.response.jobseeker.JobSeekerVacancyTableResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * The keyset queries against the OFFSET pages they replace, on the schema the changelog builds.
+ * Several vacancies share a posting date, so the id tie-break decides their order, and one has none.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class JobSeekerVacancyRepositoryTest {
+
+    private static final int PAGE_SIZE = 7;
+    private static final LocalDateTime FIRST_POSTED = LocalDateTime.of(2025, 3, 1, 9, 30, 0, 123_456_000);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScript("db/reference-tables.sql");
+
+    @Autowired
+    JobSeekerVacancyRepository repository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private final List<Listed> listed = new ArrayList<>();
+
+    private record Listed(String id, LocalDateTime postedAt, long locationTypeId) {
+    }
+
+    @BeforeEach
+    void insertVacancies() {
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (1, 'Engineering')");
+        jdbcTemplate.update("INSERT INTO lookups (id, name, type) VALUES (1, 'Remote', 'LOCATION_TYPE'), (2, 'On-site', 'LOCATION_TYPE')");
+        Long companyId = jdbcTemplate.queryForObject(
+                "INSERT INTO companies (name, phone_number) VALUES ('Hirgo', '+994000000000') RETURNING id", Long.class);
+
+        for (int i = 0; i < 40; i++) {
+            // Every third vacancy shares its posting date with the one before it
+            LocalDateTime postedAt = FIRST_POSTED.plusMinutes(i - i / 3);
+            long locationTypeId = i % 2 + 1;
+            String id = insertVacancy(companyId, postedAt, locationTypeId);
+            listed.add(new Listed(id, postedAt, locationTypeId));
+        }
+        insertVacancy(companyId, null, 1);
+        jdbcTemplate.queryForObject("SELECT refresh_vacancy_listings(ARRAY(SELECT id FROM vacancies))", Integer.class);
+
+        listed.sort(Comparator.comparing(Listed::postedAt).thenComparing(Listed::id).reversed());
+    }
+
+    @Test
+    void keysetPagesMatchOffsetPages() {
+        List<String> keyset = walkKeyset(
+                repository::getVacanciesForTableFirst,
+                (after, limit) -> repository.getVacanciesForTableAfter(after.getPostedAt(), after.getId(), limit));
+        List<String> offset = walkOffset(page -> repository.getAllVacanciesForTable(PageRequest.of(page, PAGE_SIZE)));
+
+        assertThat(keyset).isEqualTo(listed.stream().map(Listed::id).toList());
+        assertThat(offset).isEqualTo(keyset);
+    }
+
+    @Test
+    void filteredKeysetPagesMatchOffsetPages() {
+        Long locationTypeId = 2L;
+        List<String> keyset = walkKeyset(
+                limit -> repository.findVacanciesWithFiltersFirst(
+                        locationTypeId, null, null, null, null, null, null, null, null, null, limit),
+                (after, limit) -> repository.findVacanciesWithFiltersAfter(
+                        locationTypeId, null, null, null, null, null, null, null, null, null,
+                        after.getPostedAt(), after.getId(), limit));
+        List<String> offset = walkOffset(page -> repository.findVacanciesWithFilters(
+                locationTypeId, null, null, null, null, null, null, null, null, null, PageRequest.of(page, PAGE_SIZE)));
+
+        assertThat(keyset).isEqualTo(listed.stream()
+                .filter(vacancy -> vacancy.locationTypeId() == locationTypeId)
+                .map(Listed::id)
+                .toList());
+        assertThat(offset).isEqualTo(keyset);
+    }
+
+    @Test
+    void pageAfterCursorSeeksThroughPostedAtIndex() {
+        Listed cursor = listed.get(listed.size() / 2);
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        List<String> plan = jdbcTemplate.queryForList("""
+                EXPLAIN SELECT v.id FROM vacancy_listings v
+                WHERE (v.posted_at, v.id) < (?, ?)
+                ORDER BY v.posted_at DESC, v.id DESC
+                LIMIT ?
+                """, String.class, Timestamp.valueOf(cursor.postedAt()), cursor.id(), PAGE_SIZE);
+
+        assertThat(String.join("\n", plan))
+                .contains("idx_vacancy_listings_posted_at_id")
+                .doesNotContain("Sort");
+    }
+
+    private String insertVacancy(Long companyId, LocalDateTime postedAt, long locationTypeId) {
+        String id = UUID.randomUUID().toString();
+        jdbcTemplate.update("""
+                INSERT INTO vacancies (id, title, posted_at, salary, category_id, experience_level_id, location_type_id,
+                                       employment_type_id, work_schedule_id, education_level_id, company_id)
+                VALUES (?, 'Backend developer', ?, 2500, 1, 1, ?, 1, 1, 1, ?)
+                """, id, postedAt != null ? Timestamp.valueOf(postedAt) : null, locationTypeId, companyId);
+        return id;
+    }
+
+    private static List<String> walkKeyset(IntFunction<List<JobSeekerVacancyTableResponse>> first,
+                                           BiFunction<JobSeekerVacancyTableResponse, Integer, List<JobSeekerVacancyTableResponse>> after) {
+        List<String> ids = new ArrayList<>();
+        List<JobSeekerVacancyTableResponse> page = first.apply(PAGE_SIZE);
+        while (true) {
+            page.forEach(row -> ids.add(row.getId()));
+            if (page.size() < PAGE_SIZE) {
+                return ids;
+            }
+            page = after.apply(page.get(page.size() - 1), PAGE_SIZE);
+        }
+    }
+
+    private static List<String> walkOffset(Function<Integer, Slice<JobSeekerVacancyTableResponse>> pages) {
+        List<String> ids = new ArrayList<>();
+        for (int page = 0; ; page++) {
+            Slice<JobSeekerVacancyTableResponse> slice = pages.apply(page);
+            slice.forEach(row -> ids.add(row.getId()));
+            if (!slice.hasNext()) {
+                return ids;
+            }
+        }
+    }
+}
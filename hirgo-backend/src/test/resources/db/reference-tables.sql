@@ -0,0 +1,11 @@
+-- Reference tables the changelog references but does not create; deployed databases have them already
+CREATE TABLE categories (
+    id bigint PRIMARY KEY,
+    name varchar(255)
+);
+
+CREATE TABLE lookups (
+    id bigint PRIMARY KEY,
+    name varchar(255),
+    type varchar(255)
+);